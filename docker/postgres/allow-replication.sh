@@ -0,0 +1,4 @@
+#!/bin/sh
+# Connexions de réplication depuis le réseau compose (réplica en lecture seule)
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
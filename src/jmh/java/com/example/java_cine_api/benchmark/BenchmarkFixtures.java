@@ -0,0 +1,144 @@
+package com.example.java_cine_api.benchmark;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.MediaWithMetadata;
+import com.example.java_cine_api.service.MovieService;
+import com.example.java_cine_api.service.TmdbService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Jeux de données et doublures (sans Mockito, pour ne pas fausser les mesures) partagés par les benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * MovieService branché sur un TmdbService et un MovieRepository factices renvoyant des données fixes
+     */
+    static MovieService movieService(int size) {
+        List<TmdbMovieDto> searchResults = new ArrayList<>(size);
+        List<Movie> localMovies = new ArrayList<>(size / 2);
+        List<MediaWithMetadata<Movie>> page = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            searchResults.add(tmdbMovie(i, false));
+            Movie movie = movie(i);
+            if (i % 2 == 0) {
+                localMovies.add(movie);
+            }
+            page.add(new MediaWithMetadata<>(movie, metadata(i)));
+        }
+
+        TmdbSearchResponseDto<TmdbMovieDto> searchResponse = new TmdbSearchResponseDto<>(1, searchResults, 1, size);
+        TmdbService tmdbService = new TmdbService(null, new TmdbDetailsCache(1, Duration.ofMinutes(1), Duration.ofMinutes(1)),
+                new TmdbSearchCache(1, Duration.ofMinutes(1), Duration.ofMinutes(1)), new TitleSuggestionIndex(0), null,
+                null, new SimpleMeterRegistry(),
+                "http://localhost", "fr-FR", 20) {
+            @Override
+            public TmdbSearchResponseDto<TmdbMovieDto> searchMovies(String query, int limit) {
+                return searchResponse;
+            }
+        };
+
+        MovieRepository movieRepository = (MovieRepository) Proxy.newProxyInstance(
+                MovieRepository.class.getClassLoader(),
+                new Class<?>[] {MovieRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByTmdbIdIn" -> localMovies;
+                    case "findPageWithMetadata" -> page;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        return new MovieService(movieRepository, null, tmdbService, null, new TitleSuggestionIndex(0), new LibraryWrites(),
+                new NoOpTransactionManager());
+    }
+
+    static Movie movie(int i) {
+        Movie movie = new Movie("Film " + i, i, 4.5f, i % 3 == 0, "Critique du film " + i, 2, true);
+        movie.setId((long) i);
+        movie.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+        movie.setUpdatedAt(movie.getCreatedAt());
+        return movie;
+    }
+
+    static TmdbMetadata metadata(int i) {
+        TmdbMetadata metadata = new TmdbMetadata(TmdbMediaType.MOVIE, i);
+        metadata.setPosterPath("/poster-" + i + ".jpg");
+        metadata.setFetchedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return metadata;
+    }
+
+    /**
+     * Fiche TMDB ; withCredits ajoute une distribution de taille réaliste
+     */
+    static TmdbMovieDto tmdbMovie(int i, boolean withCredits) {
+        TmdbMovieDto dto = new TmdbMovieDto();
+        dto.setId(i);
+        dto.setTitle("Film " + i);
+        dto.setOverview("Résumé du film " + i + ", suffisamment long pour ressembler à un vrai synopsis TMDB.");
+        dto.setReleaseDate("1999-10-15");
+        dto.setRuntime(139);
+        dto.setGenres(List.of(new TmdbMovieDto.GenreDto(18, "Drame"), new TmdbMovieDto.GenreDto(53, "Thriller")));
+        dto.setPosterPath("/poster-" + i + ".jpg");
+        dto.setBackdropPath("/backdrop-" + i + ".jpg");
+        dto.setVoteAverage(8.4f);
+        dto.setVoteCount(27000);
+        if (withCredits) {
+            List<TmdbMovieDto.CastDto> cast = new ArrayList<>(60);
+            for (int c = 0; c < 60; c++) {
+                TmdbMovieDto.CastDto member = new TmdbMovieDto.CastDto();
+                member.setId(c);
+                member.setName("Acteur " + c);
+                member.setCharacter("Personnage " + c);
+                member.setProfilePath("/profile-" + c + ".jpg");
+                cast.add(member);
+            }
+            TmdbMovieDto.CreditsDto credits = new TmdbMovieDto.CreditsDto();
+            credits.setCast(cast);
+            dto.setCredits(credits);
+        }
+        return dto;
+    }
+
+    /**
+     * Gestionnaire de transactions sans base : les benchmarks ne mesurent que le code du service
+     */
+    static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
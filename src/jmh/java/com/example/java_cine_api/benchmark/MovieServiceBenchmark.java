@@ -0,0 +1,41 @@
+package com.example.java_cine_api.benchmark;
+
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.MovieSearchResult;
+import com.example.java_cine_api.dto.response.PagedResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.TmdbPosterView;
+import com.example.java_cine_api.repository.MediaListFilter;
+import com.example.java_cine_api.service.MovieService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût du mapping côté service : résultats de recherche TMDB et page de liste enrichie (poster_path)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MovieServiceBenchmark {
+
+    @Param({"20", "200"})
+    private int size;
+
+    private MovieService movieService;
+
+    @Setup
+    public void setUp() {
+        movieService = BenchmarkFixtures.movieService(size);
+    }
+
+    @Benchmark
+    public SearchResponse<MovieSearchResult> searchResultMapping() {
+        return movieService.search("fight club", size);
+    }
+
+    @Benchmark
+    public PagedResponse<MediaView<TmdbPosterView>> enrichPosterPath() {
+        return movieService.findAll(MediaListFilter.none(), null, size);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.java_cine_api.benchmark;
+
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.TmdbPosterView;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.entity.Movie;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson : fiche TMDB avec crédits, et page de liste en Map par ligne vs records typés,
+ * avec ou sans Blackbird (mapper construit comme celui de Spring Boot)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private TmdbMovieDto movieWithCredits;
+    private List<Movie> movies;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        movieWithCredits = BenchmarkFixtures.tmdbMovie(550, true);
+        movies = new ArrayList<>(pageSize);
+        for (int i = 1; i <= pageSize; i++) {
+            movies.add(BenchmarkFixtures.movie(i));
+        }
+    }
+
+    @Benchmark
+    public byte[] tmdbMovieWithCredits() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(movieWithCredits);
+    }
+
+    /**
+     * Référence : ancienne conversion en HashMap par ligne (convertMovieToMap + Map tmdb imbriquée)
+     */
+    @Benchmark
+    public byte[] pageAsMaps() throws JsonProcessingException {
+        List<Map<String, Object>> items = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            Map<String, Object> movieMap = new HashMap<>();
+            movieMap.put("id", movie.getId());
+            movieMap.put("title", movie.getTitle());
+            movieMap.put("tmdbId", movie.getTmdbId());
+            movieMap.put("rating", movie.getRating());
+            movieMap.put("wishlist", movie.getWishlist());
+            movieMap.put("review", movie.getReview() != null ? movie.getReview() : "");
+            movieMap.put("viewCount", movie.getViewCount());
+            movieMap.put("watched", movie.getWatched());
+            movieMap.put("createdAt", movie.getCreatedAt());
+            movieMap.put("updatedAt", movie.getUpdatedAt());
+            Map<String, Object> tmdbMap = new HashMap<>();
+            tmdbMap.put("poster_path", "/poster-" + movie.getTmdbId() + ".jpg");
+            movieMap.put("tmdb", tmdbMap);
+            items.add(movieMap);
+        }
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] pageAsTypedViews() throws JsonProcessingException {
+        List<MediaView<TmdbPosterView>> items = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            items.add(MediaView.of(movie, new TmdbPosterView("/poster-" + movie.getTmdbId() + ".jpg")));
+        }
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Version de la bibliothèque par type (movie, serie), lue dans la table library_version.
+ * Les triggers de movie, serie et tmdb_metadata l'incrémentent dans la transaction de chaque écriture,
+ * quelle qu'en soit l'origine (API, import, SQL direct, autre instance) : une version inchangée garantit
+ * que les réponses de la bibliothèque n'ont pas changé, au compteur de vues près (une mise à jour de
+ * view_count seul ne l'incrémente pas, voir V4__library_version.sql). Sert à calculer les ETag sans relire
+ * les données.
+ */
+@Component
+public class LibraryVersions {
+
+    private static final String VERSION_SQL = "SELECT version FROM library_version WHERE media_type = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+
+    public LibraryVersions(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Lecture seule : servie par le même réplica que la réponse (jamais une version plus récente que les données)
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Version courante (0 si la table n'a jamais été modifiée)
+     */
+    public long version(TmdbMediaType mediaType) {
+        Long version = readTransaction.execute(status ->
+                jdbcTemplate.queryForObject(VERSION_SQL, Long.class, mediaType.name()));
+        return version != null ? version : 0;
+    }
+
+    /**
+     * ETag fort (entre guillemets) d'une ressource de la table, ex. "movie-42-list"
+     */
+    public String etag(TmdbMediaType mediaType, String resource) {
+        return "\"" + mediaType.name().toLowerCase() + "-" + version(mediaType) + "-" + resource + "\"";
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.java_cine_api.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Date de la dernière écriture validée par cette instance (élément, métadonnées TMDB, import en lot).
+ * Sert à garder les lectures sur le primaire juste après une écriture (cf. ReplicaRoutingDataSource).
+ */
+@Component
+public class LibraryWrites {
+
+    // Date (System.nanoTime) de la dernière écriture validée
+    private volatile boolean written;
+    private volatile long lastWriteNanos;
+
+    /**
+     * Signale une écriture ; dans une transaction, elle n'est prise en compte qu'après validation
+     */
+    public void record() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            touch();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                touch();
+            }
+        });
+    }
+
+    /**
+     * Vrai si une écriture a été validée depuis moins de window
+     */
+    public boolean changedWithin(Duration window) {
+        return written && System.nanoTime() - lastWriteNanos < window.toNanos();
+    }
+
+    private void touch() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.java_cine_api.cache;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forme canonique d'une requête de recherche pour la clé de cache :
+ * espaces superflus retirés, minuscules, accents supprimés ("  Amélie " et "amelie" partagent la même entrée)
+ */
+public final class SearchQueryNormalizer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchQueryNormalizer() {
+    }
+
+    public static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String collapsed = WHITESPACE.matcher(query.trim()).replaceAll(" ");
+        String decomposed = Normalizer.normalize(collapsed, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.java_cine_api.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Regroupe les chargements concurrents d'une même clé : tant qu'un chargement est en cours,
+ * les appelants suivants reçoivent le même CompletableFuture au lieu de relancer la requête.
+ * Rien n'est conservé une fois le chargement terminé (le cache est géré à part).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Variante asynchrone : starter n'est appelé que par le premier demandeur
+     */
+    public CompletableFuture<V> submit(K key, Supplier<CompletableFuture<V>> starter) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        try {
+            starter.get().whenComplete((value, error) -> {
+                inFlight.remove(key, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, promise);
+            promise.completeExceptionally(e);
+        }
+        return promise;
+    }
+
+    /**
+     * Variante synchrone : le premier demandeur charge dans son propre thread, les suivants attendent son résultat
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            promise.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * Nombre d'appels servis par un chargement déjà en cours
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Nombre de chargements actuellement en cours
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Remonter l'exception d'origine (ex. TmdbApiException) plutôt que son enveloppe
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
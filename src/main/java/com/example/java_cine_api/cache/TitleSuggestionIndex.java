@@ -0,0 +1,140 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.response.TitleSuggestion;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index mémoire des titres connus (bibliothèque locale et résultats de recherche TMDB déjà vus) pour la saisie
+ * semi-automatique. Chaque titre est indexé, sous sa forme normalisée, à partir de chacun de ses mots
+ * ("the matrix" répond à "mat") dans une table triée : une recherche par préfixe est un parcours de plage.
+ */
+@Component
+public class TitleSuggestionIndex {
+
+    // Sépare le titre normalisé de l'identifiant de la source dans les clés de l'index
+    private static final char SEPARATOR = '\u0000';
+    private static final int MAX_INDEXED_WORDS = 8;
+    // Candidats lus au-delà de la limite pour dédoublonner et placer les éléments locaux en tête
+    private static final int CANDIDATE_FACTOR = 4;
+
+    private final ConcurrentSkipListMap<String, TitleSuggestion> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, List<String>> keysBySource = new ConcurrentHashMap<>();
+    private final AtomicInteger tmdbTitles = new AtomicInteger();
+    private final int maxTmdbTitles;
+
+    public TitleSuggestionIndex(@Value("${suggest.max-tmdb-titles:50000}") int maxTmdbTitles) {
+        this.maxTmdbTitles = maxTmdbTitles;
+    }
+
+    /**
+     * Ajoute ou met à jour le titre d'un élément de la bibliothèque
+     */
+    public void putLocal(TmdbMediaType mediaType, Long id, String title, Integer tmdbId) {
+        put(localSource(mediaType, id), TitleSuggestion.local(mediaType, id, title, tmdbId));
+    }
+
+    /**
+     * Retire le titre d'un élément supprimé de la bibliothèque
+     */
+    public void removeLocal(TmdbMediaType mediaType, Long id) {
+        keysBySource.computeIfPresent(localSource(mediaType, id), (source, keys) -> {
+            keys.forEach(entries::remove);
+            return null;
+        });
+    }
+
+    /**
+     * Mémorise un titre vu dans une réponse TMDB (ignoré une fois le plafond de titres TMDB atteint)
+     */
+    public void putTmdb(TmdbMediaType mediaType, Integer tmdbId, String title) {
+        if (tmdbId == null || title == null || title.isBlank()) {
+            return;
+        }
+        String source = mediaType.name() + ":tmdb:" + tmdbId;
+        if (!keysBySource.containsKey(source) && tmdbTitles.get() >= maxTmdbTitles) {
+            return;
+        }
+        if (put(source, TitleSuggestion.tmdb(mediaType, tmdbId, title))) {
+            tmdbTitles.incrementAndGet();
+        }
+    }
+
+    /**
+     * Titres commençant par la requête (à partir de n'importe quel mot), éléments locaux en tête
+     */
+    public List<TitleSuggestion> suggest(String query, int limit) {
+        String prefix = SearchQueryNormalizer.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        // Un même titre (ou un élément local et sa fiche TMDB) n'apparaît qu'une fois
+        Map<String, TitleSuggestion> distinct = new LinkedHashMap<>();
+        for (TitleSuggestion suggestion : entries.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+            String identity = suggestion.type() + ':'
+                + (suggestion.tmdbId() != null ? suggestion.tmdbId() : "local:" + suggestion.localId());
+            distinct.merge(identity, suggestion, (current, other) -> current.isLocal() ? current : other);
+            if (distinct.size() >= limit * CANDIDATE_FACTOR) {
+                break;
+            }
+        }
+
+        return distinct.values().stream()
+            .sorted(Comparator.comparing(suggestion -> !suggestion.isLocal()))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Nombre de titres indexés (locaux et TMDB)
+     */
+    public int size() {
+        return keysBySource.size();
+    }
+
+    /**
+     * Remplace l'entrée d'une source ; retourne true si la source était absente
+     */
+    private boolean put(String source, TitleSuggestion suggestion) {
+        List<String> keys = keysOf(suggestion.title(), source);
+        boolean[] added = {false};
+        keysBySource.compute(source, (s, previous) -> {
+            if (previous != null) {
+                previous.forEach(entries::remove);
+            } else {
+                added[0] = true;
+            }
+            keys.forEach(key -> entries.put(key, suggestion));
+            return keys;
+        });
+        return added[0];
+    }
+
+    private static List<String> keysOf(String title, String source) {
+        String[] words = SearchQueryNormalizer.normalize(title).split(" ");
+        List<String> keys = new ArrayList<>(Math.min(words.length, MAX_INDEXED_WORDS));
+        for (int i = 0; i < words.length && i < MAX_INDEXED_WORDS; i++) {
+            if (words[i].isEmpty()) {
+                continue;
+            }
+            keys.add(String.join(" ", List.of(words).subList(i, words.length)) + SEPARATOR + source);
+        }
+        return keys;
+    }
+
+    private static String localSource(TmdbMediaType mediaType, Long id) {
+        return mediaType.name() + ":local:" + id;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+
+/**
+ * Clé de cache pour une fiche TMDB : type de média, ID TMDB, langue et niveau de détail demandés
+ */
+public record TmdbCacheKey(String mediaType, Integer tmdbId, String language, TmdbDetailLevel level) {
+
+    public static final String MOVIE = "movie";
+    public static final String SERIE = "tv";
+
+    public static TmdbCacheKey movie(Integer tmdbId, String language) {
+        return movie(tmdbId, language, TmdbDetailLevel.FULL);
+    }
+
+    public static TmdbCacheKey movie(Integer tmdbId, String language, TmdbDetailLevel level) {
+        return new TmdbCacheKey(MOVIE, tmdbId, language, level);
+    }
+
+    public static TmdbCacheKey serie(Integer tmdbId, String language) {
+        return serie(tmdbId, language, TmdbDetailLevel.FULL);
+    }
+
+    public static TmdbCacheKey serie(Integer tmdbId, String language, TmdbDetailLevel level) {
+        return new TmdbCacheKey(SERIE, tmdbId, language, level);
+    }
+
+    /**
+     * Même fiche au niveau de détail complet (qui satisfait aussi une demande SUMMARY)
+     */
+    public TmdbCacheKey full() {
+        return new TmdbCacheKey(mediaType, tmdbId, language, TmdbDetailLevel.FULL);
+    }
+}
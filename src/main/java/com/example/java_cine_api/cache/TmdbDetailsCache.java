@@ -0,0 +1,131 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cache mémoire borné (Caffeine, éviction W-TinyLFU) des fiches détaillées TMDB.
+ * Les fiches sont chargées hors du cache (appel regroupé par clé) puis enregistrées via put ;
+ * les entrées expirent après le TTL configuré et les erreurs de chargement ne sont jamais mises en cache.
+ * Une copie de chaque fiche est conservée plus longtemps (stale-ttl) pour servir de repli quand TMDB est indisponible.
+ */
+@Component
+public class TmdbDetailsCache {
+
+    private final Cache<TmdbCacheKey, TmdbMovieDto> movies;
+    private final Cache<TmdbCacheKey, TmdbSerieDto> series;
+
+    // Succès/échecs comptés par peek (une fois par demande), évictions comptées par Caffeine
+    private final StatsCounter movieStats = new ConcurrentStatsCounter();
+    private final StatsCounter serieStats = new ConcurrentStatsCounter();
+
+    // Dernière fiche connue, conservée au-delà du TTL pour le mode dégradé
+    private final Cache<TmdbCacheKey, TmdbMovieDto> staleMovies;
+    private final Cache<TmdbCacheKey, TmdbSerieDto> staleSeries;
+
+    public TmdbDetailsCache(@Value("${tmdb.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${tmdb.cache.ttl:6h}") Duration ttl,
+                            @Value("${tmdb.cache.stale-ttl:7d}") Duration staleTtl) {
+        this.movies = buildCache(maximumSize, ttl, movieStats);
+        this.series = buildCache(maximumSize, ttl, serieStats);
+        this.staleMovies = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(staleTtl).build();
+        this.staleSeries = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(staleTtl).build();
+    }
+
+    /**
+     * Enregistre une fiche film chargée hors du cache (ex. chargement regroupé)
+     */
+    public void putMovie(TmdbCacheKey key, TmdbMovieDto movie) {
+        movies.put(key, movie);
+        staleMovies.put(key, movie);
+    }
+
+    /**
+     * Enregistre une fiche série chargée hors du cache (ex. chargement regroupé)
+     */
+    public void putSerie(TmdbCacheKey key, TmdbSerieDto serie) {
+        series.put(key, serie);
+        staleSeries.put(key, serie);
+    }
+
+    /**
+     * Fiche film en cache, ou null (ne déclenche aucun chargement) ;
+     * une demande SUMMARY est aussi servie par une fiche FULL déjà chargée
+     */
+    public TmdbMovieDto peekMovie(TmdbCacheKey key) {
+        return peek(movies, movieStats, key);
+    }
+
+    /**
+     * Fiche série en cache, ou null (ne déclenche aucun chargement) ;
+     * une demande SUMMARY est aussi servie par une fiche FULL déjà chargée
+     */
+    public TmdbSerieDto peekSerie(TmdbCacheKey key) {
+        return peek(series, serieStats, key);
+    }
+
+    /**
+     * Dernière fiche film connue, même expirée du cache principal, ou null
+     */
+    public TmdbMovieDto peekStaleMovie(TmdbCacheKey key) {
+        return staleMovies.getIfPresent(key);
+    }
+
+    /**
+     * Dernière fiche série connue, même expirée du cache principal, ou null
+     */
+    public TmdbSerieDto peekStaleSerie(TmdbCacheKey key) {
+        return staleSeries.getIfPresent(key);
+    }
+
+    /**
+     * Compteurs hit/miss/éviction du cache des films
+     */
+    public CacheStats movieStats() {
+        return movies.stats();
+    }
+
+    /**
+     * Compteurs hit/miss/éviction du cache des séries
+     */
+    public CacheStats serieStats() {
+        return series.stats();
+    }
+
+    /**
+     * Lecture via asMap() (non comptée par Caffeine) puis un seul succès ou échec enregistré,
+     * même quand la demande SUMMARY a nécessité de regarder aussi la fiche FULL
+     */
+    private static <V> V peek(Cache<TmdbCacheKey, V> cache, StatsCounter stats, TmdbCacheKey key) {
+        Map<TmdbCacheKey, V> entries = cache.asMap();
+        V value = entries.get(key);
+        if (value == null && key.level() == TmdbDetailLevel.SUMMARY) {
+            value = entries.get(key.full());
+        }
+        if (value != null) {
+            stats.recordHits(1);
+        } else {
+            stats.recordMisses(1);
+        }
+        return value;
+    }
+
+    private static <V> Cache<TmdbCacheKey, V> buildCache(long maximumSize, Duration ttl, StatsCounter stats) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> stats)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache mémoire (Caffeine) des résultats de recherche TMDB, partagé par /search, /movie/search et /serie/search.
+ * Durée de vie courte ; les recherches sans résultat sont aussi mises en cache, avec un TTL plus court encore.
+ * Les appels simultanés d'une même clé ne déclenchent qu'un seul chargement.
+ */
+@Component
+public class TmdbSearchCache {
+
+    private final Cache<TmdbSearchKey, TmdbSearchResponseDto<?>> searches;
+
+    public TmdbSearchCache(@Value("${tmdb.search-cache.maximum-size:5000}") long maximumSize,
+                           @Value("${tmdb.search-cache.ttl:10m}") Duration ttl,
+                           @Value("${tmdb.search-cache.empty-ttl:1m}") Duration emptyTtl) {
+        this.searches = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ResultAwareExpiry(ttl.toNanos(), emptyTtl.toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retourne la recherche en cache ou la charge via le loader (une réponse null n'est pas mise en cache)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TmdbSearchResponseDto<T> get(TmdbSearchKey key, Function<TmdbSearchKey, TmdbSearchResponseDto<T>> loader) {
+        return (TmdbSearchResponseDto<T>) searches.get(key, loader::apply);
+    }
+
+    /**
+     * Compteurs hit/miss/éviction du cache des recherches
+     */
+    public CacheStats stats() {
+        return searches.stats();
+    }
+
+    /**
+     * TTL selon le contenu : plus court pour une recherche sans résultat
+     */
+    private record ResultAwareExpiry(long ttlNanos, long emptyTtlNanos)
+            implements Expiry<TmdbSearchKey, TmdbSearchResponseDto<?>> {
+
+        @Override
+        public long expireAfterCreate(TmdbSearchKey key, TmdbSearchResponseDto<?> value, long currentTime) {
+            boolean empty = value.getResults() == null || value.getResults().isEmpty();
+            return empty ? emptyTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(TmdbSearchKey key, TmdbSearchResponseDto<?> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TmdbSearchKey key, TmdbSearchResponseDto<?> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.java_cine_api.cache;
+
+/**
+ * Clé de cache d'une recherche TMDB : type de recherche, requête normalisée, langue et page
+ */
+public record TmdbSearchKey(String searchType, String query, String language, int page) {
+
+    public static final String MOVIE = "movie";
+    public static final String SERIE = "tv";
+    public static final String MULTI = "multi";
+
+    public static TmdbSearchKey of(String searchType, String rawQuery, String language, int page) {
+        return new TmdbSearchKey(searchType, SearchQueryNormalizer.normalize(rawQuery), language, page);
+    }
+}
@@ -1,18 +1,31 @@
 package com.example.java_cine_api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
-import java.net.InetSocketAddress;
-import java.net.Proxy;
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -24,14 +37,98 @@ public class ApplicationConfig {
     @Value("${cors.allowed.origins}")
     private String allowedOrigins;
 
+    // Pool de connexions HTTP vers TMDB
+    @Value("${tmdb.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${tmdb.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${tmdb.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${tmdb.http.read-timeout:15s}")
+    private Duration readTimeout;
+
+    @Value("${tmdb.http.connection-request-timeout:5s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${tmdb.http.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${tmdb.http.connection-ttl:5m}")
+    private Duration connectionTimeToLive;
+
     /**
-     * Configuration du RestTemplate avec proxy automatique depuis les variables d'environnement
+     * Client HTTP mutualisé pour TMDB : connexions keep-alive réutilisées (pas de nouveau handshake TLS
+     * à chaque appel), éviction des connexions inactives, décompression gzip automatique
+     * et proxy automatique depuis les variables d'environnement
      */
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+    public CloseableHttpClient tmdbHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTimeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        // connectionRequestTimeout : attente max d'une connexion libre dans le pool
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction));
+
+        HttpHost proxy = detectProxy();
+        if (proxy != null) {
+            builder.setProxy(proxy);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Configuration du RestTemplate TMDB sur le client HTTP mutualisé
+     */
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient tmdbHttpClient) {
+        HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(tmdbHttpClient);
+        
+        RestTemplate restTemplate = new RestTemplate(factory);
+        
+        // Réponses TMDB lues avec Blackbird (propriétés inconnues ignorées, cf. Jackson2ObjectMapperBuilder)
+        ObjectMapper tmdbMapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+        restTemplate.getMessageConverters().replaceAll(converter ->
+            converter instanceof MappingJackson2HttpMessageConverter
+                ? new MappingJackson2HttpMessageConverter(tmdbMapper)
+                : converter);
+        
+        // Ajouter l'intercepteur pour les headers TMDB
+        ClientHttpRequestInterceptor tmdbInterceptor = (request, body, execution) -> {
+            request.getHeaders().setBearerAuth(tmdbBearerToken);
+            request.getHeaders().add("Accept", "application/json");
+            return execution.execute(request, body);
+        };
         
-        // Configuration automatique du proxy depuis les variables d'environnement
+        restTemplate.getInterceptors().add(tmdbInterceptor);
+        return restTemplate;
+    }
+
+    /**
+     * Configuration automatique du proxy depuis les variables d'environnement
+     */
+    private static HttpHost detectProxy() {
         String httpProxy = System.getProperty("http.proxy", System.getenv("HTTP_PROXY"));
         String httpsProxy = System.getProperty("https.proxy", System.getenv("HTTPS_PROXY"));
         
@@ -47,10 +144,8 @@ public class ApplicationConfig {
                         String proxyHost = parts[0];
                         int proxyPort = Integer.parseInt(parts[1]);
                         
-                        Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyHost, proxyPort));
-                        factory.setProxy(proxy);
-                        
                         System.out.println("🌐 Configuration proxy détectée: " + proxyHost + ":" + proxyPort);
+                        return new HttpHost("http", proxyHost, proxyPort);
                     }
                 }
             } catch (Exception e) {
@@ -59,22 +154,7 @@ public class ApplicationConfig {
         } else {
             System.out.println("ℹ️  Aucun proxy configuré - connexion directe");
         }
-        
-        // Configuration des timeouts
-        factory.setConnectTimeout(30000); // 30 secondes
-        factory.setReadTimeout(30000); // 30 secondes
-        
-        RestTemplate restTemplate = new RestTemplate(factory);
-        
-        // Ajouter l'intercepteur pour les headers TMDB
-        ClientHttpRequestInterceptor tmdbInterceptor = (request, body, execution) -> {
-            request.getHeaders().setBearerAuth(tmdbBearerToken);
-            request.getHeaders().add("Accept", "application/json");
-            return execution.execute(request, body);
-        };
-        
-        restTemplate.getInterceptors().add(tmdbInterceptor);
-        return restTemplate;
+        return null;
     }
 
     /**
@@ -0,0 +1,42 @@
+package com.example.java_cine_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensionne les pools Hikari (primaire, réplica) d'après le nombre de cœurs :
+ * cœurs x 2 + disques effectifs (formule de HikariCP), pool fixe (minimum-idle = maximum-pool-size).
+ * Activé par datasource.pool.size-from-cores=true (profil prod) ; remplace alors les tailles configurées.
+ */
+@Component
+@ConditionalOnProperty(name = "datasource.pool.size-from-cores", havingValue = "true")
+public class HikariPoolSizing implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HikariPoolSizing.class);
+
+    private final int poolSize;
+
+    public HikariPoolSizing(@Value("${datasource.pool.effective-spindles:1}") int effectiveSpindles) {
+        this.poolSize = poolSize(Runtime.getRuntime().availableProcessors(), effectiveSpindles);
+    }
+
+    static int poolSize(int cores, int effectiveSpindles) {
+        return cores * 2 + Math.max(0, effectiveSpindles);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.setMaximumPoolSize(poolSize);
+            dataSource.setMinimumIdle(poolSize);
+            logger.info("Pool {} dimensionné à {} connexions ({} cœurs)",
+                    dataSource.getPoolName(), poolSize, Runtime.getRuntime().availableProcessors());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.service.TmdbCircuitBreaker;
+import com.example.java_cine_api.service.TmdbRequestLimiter;
+import com.example.java_cine_api.service.TmdbService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Métriques Micrometer (exposées via /actuator/prometheus).
+ * Routes HTTP (http.server.requests) et repositories Spring Data (spring.data.repository.invocations)
+ * sont instrumentés par Spring Boot ; @Timed couvre les requêtes JDBC écrites à la main.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public TmdbMetricsBinder tmdbMetricsBinder(TmdbRequestLimiter requestLimiter,
+                                               TmdbCircuitBreaker circuitBreaker,
+                                               TmdbDetailsCache detailsCache,
+                                               TmdbSearchCache searchCache,
+                                               TmdbService tmdbService) {
+        return new TmdbMetricsBinder(requestLimiter, circuitBreaker, detailsCache, searchCache, tmdbService);
+    }
+}
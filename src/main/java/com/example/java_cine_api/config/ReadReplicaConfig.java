@@ -0,0 +1,86 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Lecture sur réplica (datasource.replica.enabled=true) : les transactions @Transactional(readOnly = true)
+ * sont servies par le pool du réplica, les écritures et les lectures hors transaction par le primaire.
+ * Le proxy n'ouvre la connexion physique qu'à la première requête, une fois le caractère lecture seule
+ * de la transaction connu. Sans cette propriété, Spring Boot configure l'unique spring.datasource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Pool du primaire (spring.datasource.*, dimensionné par spring.datasource.hikari.*) ;
+     * seul pool utilisé par les migrations Flyway
+     */
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Pool du réplica (datasource.replica.*, dimensionné par datasource.replica.hikari.*)
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${datasource.replica.url}") String url,
+                                              @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+                                              @Value("${datasource.replica.password:${spring.datasource.password}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${datasource.replica.max-lag:5s}") Duration maxLag,
+                                               @Value("${datasource.replica.lag-check-timeout:2s}") Duration checkTimeout) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        jdbcTemplate.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));
+        return new ReplicaLagMonitor(jdbcTemplate, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor lagMonitor,
+                                 LibraryWrites writes,
+                                 @Value("${datasource.replica.max-lag:5s}") Duration maxLag) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, lagMonitor, writes, maxLag));
+        return proxy;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.java_cine_api.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Surveille le retard de réplication du réplica PostgreSQL. Tant que le retard dépasse le seuil
+ * (ou que le réplica ne répond pas), les transactions en lecture seule retombent sur le primaire.
+ * Réplica considéré indisponible jusqu'à la première mesure.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // Retard en secondes ; nul hors réplication ou lorsque tout le WAL reçu est rejoué (primaire inactif)
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final JdbcTemplate replica;
+    private final double maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+    }
+
+    /**
+     * Vrai si les lectures peuvent être servies par le réplica
+     */
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Dernier retard mesuré (en secondes), NaN si le réplica n'a pas répondu
+     */
+    public double lagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:5s}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replica.queryForObject(LAG_QUERY, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds <= maxLagSeconds;
+            if (wasUsable && !usable) {
+                logger.warn("Réplica en retard de {} s (max {} s), lectures redirigées vers le primaire",
+                        lagSeconds, maxLagSeconds);
+            }
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                logger.warn("Réplica injoignable, lectures redirigées vers le primaire: {}", e.getMessage());
+            }
+        }
+        if (!wasUsable && usable) {
+            logger.info("Réplica disponible (retard {} s), lectures en lecture seule servies par le réplica", lagSeconds);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.replica.lag", this, ReplicaLagMonitor::lagSeconds)
+                .description("Retard de réplication du réplica PostgreSQL")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("db.replica.usable", this, monitor -> monitor.isUsable() ? 1 : 0)
+                .description("1 si les lectures sont servies par le réplica, 0 si elles retombent sur le primaire")
+                .register(registry);
+    }
+}
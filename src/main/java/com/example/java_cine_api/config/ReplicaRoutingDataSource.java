@@ -0,0 +1,37 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Source des connexions en lecture seule : le réplica s'il est à jour, sinon le primaire.
+ * Juste après une écriture validée, les lectures restent sur le primaire pendant writeFence
+ * (le réplica n'a peut-être pas encore rejoué l'écriture que le client vient de faire).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final LibraryWrites writes;
+    private final Duration writeFence;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    LibraryWrites writes, Duration writeFence) {
+        this.lagMonitor = lagMonitor;
+        this.writes = writes;
+        this.writeFence = writeFence;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return lagMonitor.isUsable() && !writes.changedWithin(writeFence) ? Target.REPLICA : Target.PRIMARY;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.java_cine_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (rafraîchissement des métadonnées TMDB)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,91 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.service.TmdbCircuitBreaker;
+import com.example.java_cine_api.service.TmdbRequestLimiter;
+import com.example.java_cine_api.service.TmdbService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Jauges du client TMDB : file d'attente et appels en cours du limiteur, attente d'un créneau,
+ * état du disjoncteur, taux de succès des caches et appels de détails regroupés
+ */
+public class TmdbMetricsBinder implements MeterBinder {
+
+    private final TmdbRequestLimiter requestLimiter;
+    private final TmdbCircuitBreaker circuitBreaker;
+    private final TmdbDetailsCache detailsCache;
+    private final TmdbSearchCache searchCache;
+    private final TmdbService tmdbService;
+
+    public TmdbMetricsBinder(TmdbRequestLimiter requestLimiter,
+                             TmdbCircuitBreaker circuitBreaker,
+                             TmdbDetailsCache detailsCache,
+                             TmdbSearchCache searchCache,
+                             TmdbService tmdbService) {
+        this.requestLimiter = requestLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.detailsCache = detailsCache;
+        this.searchCache = searchCache;
+        this.tmdbService = tmdbService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("tmdb.executor.queue.size", requestLimiter, TmdbRequestLimiter::queuedTasks)
+            .description("Appels TMDB asynchrones en attente d'un thread")
+            .register(registry);
+        Gauge.builder("tmdb.requests.in.flight", requestLimiter, TmdbRequestLimiter::inFlightRequests)
+            .description("Appels TMDB en cours")
+            .register(registry);
+        FunctionTimer.builder("tmdb.limiter.wait", requestLimiter,
+                TmdbRequestLimiter::acquiredCount, TmdbRequestLimiter::totalWaitNanos, TimeUnit.NANOSECONDS)
+            .description("Attente d'un créneau (débit et concurrence) avant un appel TMDB")
+            .register(registry);
+        for (TmdbCircuitBreaker.State state : TmdbCircuitBreaker.State.values()) {
+            Gauge.builder("tmdb.circuit.state", circuitBreaker, b -> b.state() == state ? 1 : 0)
+                .description("État du disjoncteur TMDB (1 pour l'état courant)")
+                .tag("state", state.name().toLowerCase())
+                .register(registry);
+        }
+        FunctionCounter.builder("tmdb.details.coalesced", tmdbService, TmdbService::coalescedDetailCalls)
+            .description("Appels de détails servis par une requête TMDB déjà en cours")
+            .register(registry);
+
+        bindCache(registry, "details-movie", detailsCache, TmdbDetailsCache::movieStats);
+        bindCache(registry, "details-serie", detailsCache, TmdbDetailsCache::serieStats);
+        bindCache(registry, "search", searchCache, TmdbSearchCache::stats);
+    }
+
+    /**
+     * Micrometer ne garde qu'une référence faible vers l'objet observé : c'est le bean du cache
+     * (vivant tant que le contexte l'est) qui est passé, jamais un objet créé ici (lambda, référence de méthode)
+     * qui serait collecté par le GC et ferait remonter NaN.
+     */
+    private static <C> void bindCache(MeterRegistry registry, String name, C cache, Function<C, CacheStats> stats) {
+        Gauge.builder("tmdb.cache.hit.ratio", cache, c -> stats.apply(c).hitRate())
+            .description("Taux de succès du cache")
+            .tag("cache", name)
+            .register(registry);
+        FunctionCounter.builder("tmdb.cache.requests", cache, c -> stats.apply(c).hitCount())
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("tmdb.cache.requests", cache, c -> stats.apply(c).missCount())
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("tmdb.cache.evictions", cache, c -> stats.apply(c).evictionCount())
+            .tag("cache", name)
+            .register(registry);
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.java_cine_api.controller;
 
+import com.example.java_cine_api.dto.response.ApiInfoResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.TitleSuggestion;
+import com.example.java_cine_api.dto.tmdb.TmdbMultiDto;
+import com.example.java_cine_api.service.SuggestionService;
+import com.example.java_cine_api.service.TmdbSearchPages;
 import com.example.java_cine_api.service.TmdbService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/")
@@ -18,24 +30,31 @@ public class AppController {
 
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    // Recherche en flux : plus de résultats que /search (les pages arrivent au fil de l'eau)
+    private static final int MAX_STREAM_LIMIT = 100;
+
     private final TmdbService tmdbService;
+    private final SuggestionService suggestionService;
+    private final ObjectMapper objectMapper;
 
-    public AppController(TmdbService tmdbService) {
+    public AppController(TmdbService tmdbService, SuggestionService suggestionService, ObjectMapper objectMapper) {
         this.tmdbService = tmdbService;
+        this.suggestionService = suggestionService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Point d'entrée de l'API - Information de santé
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getInfo() {
+    public ResponseEntity<ApiInfoResponse> getInfo() {
         logger.info("Requête GET / - Information de l'API");
 
-        Map<String, Object> info = Map.of(
-                "name", "Java Cine API",
-                "description", "API de gestion de films et séries avec intégration TMDB",
-                "timestamp", LocalDateTime.now().format(TIMESTAMP_FORMATTER),
-                "status", "running");
+        ApiInfoResponse info = new ApiInfoResponse(
+                "Java Cine API",
+                "API de gestion de films et séries avec intégration TMDB",
+                LocalDateTime.now().format(TIMESTAMP_FORMATTER),
+                "running");
 
         return ResponseEntity.ok(info);
     }
@@ -44,40 +63,81 @@ public class AppController {
      * Recherche multi (films + séries) dans TMDB
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchMulti(
+    public ResponseEntity<SearchResponse<TmdbMultiDto>> searchMulti(
             @RequestParam(name = "q", defaultValue = "") String query,
             @RequestParam(name = "limit", defaultValue = "20") Integer limit) {
 
         if (query.trim().isEmpty()) {
-            return ResponseEntity.ok(Map.of(
-                    "query", query,
-                    "limit", limit,
-                    "total", 0,
-                    "results", java.util.List.of()));
+            return ResponseEntity.ok(SearchResponse.empty(query, limit));
         }
 
         logger.info("Requête GET /search - Recherche multi: '{}' (limite: {})", query, limit);
 
         int safeLimit = Math.max(1, Math.min(50, limit));
-        var tmdbResponse = tmdbService.searchMulti(query);
+        var tmdbResponse = tmdbService.searchMulti(query, safeLimit);
 
         if (tmdbResponse == null || tmdbResponse.getResults() == null) {
-            return ResponseEntity.ok(Map.of(
-                    "query", query,
-                    "limit", safeLimit,
-                    "total", 0,
-                    "results", java.util.List.of()));
+            return ResponseEntity.ok(SearchResponse.empty(query, safeLimit));
         }
 
         var limitedResults = tmdbResponse.getResults().stream()
                 .limit(safeLimit)
                 .toList();
 
-        return ResponseEntity.ok(Map.of(
-                "query", query,
-                "limit", safeLimit,
-                "total", limitedResults.size(),
-                "results", limitedResults));
+        return ResponseEntity.ok(SearchResponse.of(query, safeLimit, limitedResults));
+    }
+
+    /**
+     * Recherche multi TMDB en flux NDJSON : un résultat par ligne, écrit dès que sa page est chargée
+     * (pages chargées en parallèle, restituées dans l'ordre)
+     */
+    @GetMapping("/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchMulti(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "20") Integer limit) {
+        logger.info("Requête GET /search/stream - Recherche multi en flux: '{}' (limite: {})", query, limit);
+
+        int safeLimit = Math.max(1, Math.min(MAX_STREAM_LIMIT, limit));
+        // La première page est chargée avant la réponse : une erreur TMDB reste une réponse d'erreur classique
+        TmdbSearchPages<TmdbMultiDto> pages = query.trim().isEmpty() ? null : tmdbService.searchMultiPages(query, safeLimit);
+
+        StreamingResponseBody body = out -> {
+            if (pages == null) {
+                return;
+            }
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            try {
+                pages.forEach(safeLimit, item -> {
+                    try {
+                        generator.writeObject(item);
+                        generator.writeRaw('\n');
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson;charset=UTF-8"))
+                .body(body);
     }
 
+    /**
+     * Saisie semi-automatique : titres connus (bibliothèque, recherches TMDB déjà vues), TMDB seulement en l'absence de suggestion
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<SearchResponse<TitleSuggestion>> suggest(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "10") Integer limit) {
+        logger.debug("Requête GET /suggest - Suggestions: '{}' (limite: {})", query, limit);
+
+        int safeLimit = Math.max(1, Math.min(20, limit));
+        return ResponseEntity.ok(suggestionService.suggest(query, safeLimit));
+    }
 }
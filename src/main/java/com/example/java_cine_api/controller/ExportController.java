@@ -0,0 +1,63 @@
+package com.example.java_cine_api.controller;
+
+import com.example.java_cine_api.service.ExportFormat;
+import com.example.java_cine_api.service.LibraryExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    private final LibraryExportService exportService;
+
+    public ExportController(LibraryExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Exporte toute la bibliothèque (films et séries) en flux NDJSON ou CSV, éventuellement compressé en gzip.
+     * since (ISO-8601) limite l'export aux éléments modifiés depuis cette date.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(name = "gzip", defaultValue = "false") boolean gzip) {
+        logger.info("Requête GET /export - Export de la bibliothèque (format: {}, depuis: {}, gzip: {})", format, since, gzip);
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        String filename = "library." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                exportService.export(exportFormat, since, gzipOut);
+                gzipOut.finish();
+            } else {
+                exportService.export(exportFormat, since, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.java_cine_api.controller;
+
+import com.example.java_cine_api.cache.LibraryVersions;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * En-têtes de cache des lectures de la bibliothèque et des fiches TMDB.
+ * - listes de la bibliothèque : requêtes conditionnelles (If-None-Match), l'ETag ne dépend que de la
+ *   version de la table (library_version, une lecture par clé primaire), la comparaison a donc lieu avant
+ *   toute lecture des données ; "private, no-cache" (le client revalide à chaque fois, 304 tant que rien
+ *   n'a changé)
+ * - réponses contenant une fiche TMDB (détail d'un élément, consultation par tmdbId) : pas d'ETag, la
+ *   fiche peut changer (expiration du cache TMDB) sans que library_version bouge ; "private, max-age"
+ *   (http.cache.tmdb-max-age) borne la durée pendant laquelle le client la réutilise
+ * Une réponse contenant une fiche de repli (TMDB indisponible) n'est jamais mise en cache.
+ */
+@Component
+public class HttpCaching {
+
+    private static final CacheControl LIBRARY = CacheControl.noCache().cachePrivate();
+
+    private final LibraryVersions versions;
+    private final CacheControl tmdb;
+
+    public HttpCaching(LibraryVersions versions,
+                       @Value("${http.cache.tmdb-max-age:60s}") Duration tmdbMaxAge) {
+        this.versions = versions;
+        this.tmdb = CacheControl.maxAge(tmdbMaxAge).cachePrivate();
+    }
+
+    /**
+     * Réponse construite à partir des seules données locales
+     */
+    public <T> ResponseEntity<T> library(WebRequest request, TmdbMediaType mediaType, String resource, Supplier<T> body) {
+        String etag = versions.etag(mediaType, resource);
+        if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(LIBRARY).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(LIBRARY).body(body.get());
+    }
+
+    /**
+     * Réponse contenant une fiche TMDB, sans ETag ; stale indique une fiche de repli
+     */
+    public <T> ResponseEntity<T> tmdb(Supplier<T> body, Predicate<T> stale) {
+        T value = body.get();
+        if (stale.test(value)) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(value);
+        }
+        return ResponseEntity.ok().cacheControl(tmdb).body(value);
+    }
+
+    /**
+     * Comparaison faible (RFC 9110) : W/"x" correspond à "x", * correspond à tout
+     */
+    static boolean matches(String[] ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String header : ifNoneMatch) {
+            for (String candidate : header.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.java_cine_api.controller;
+
+import com.example.java_cine_api.dto.response.LibrarySearchResponse;
+import com.example.java_cine_api.service.LibrarySearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/library")
+public class LibraryController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibraryController.class);
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final LibrarySearchService searchService;
+
+    public LibraryController(LibrarySearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Recherche dans la bibliothèque locale (films et séries, titre et critique), classée par pertinence
+     */
+    @GetMapping("/search")
+    public ResponseEntity<LibrarySearchResponse> search(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "20") Integer limit,
+            @RequestParam(name = "offset", defaultValue = "0") Integer offset) {
+        logger.info("Requête GET /library/search - Recherche locale: '{}' (limite: {}, offset: {})", query, limit, offset);
+        int safeLimit = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        LibrarySearchResponse result = searchService.search(query, Math.max(0, offset), safeLimit);
+        return ResponseEntity.ok(result);
+    }
+}
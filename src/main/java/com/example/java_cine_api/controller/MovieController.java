@@ -1,8 +1,19 @@
 package com.example.java_cine_api.controller;
 
 import com.example.java_cine_api.dto.movie.*;
+import com.example.java_cine_api.dto.response.ImportResponse;
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.PagedResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.MovieSearchResult;
+import com.example.java_cine_api.dto.response.TmdbLookupResponse;
+import com.example.java_cine_api.dto.response.TmdbPosterView;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
 import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.MediaListFilter;
 import com.example.java_cine_api.service.MovieService;
+import com.example.java_cine_api.service.TmdbImportService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -11,8 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/movie")
@@ -20,10 +30,16 @@ public class MovieController {
 
     private static final Logger logger = LoggerFactory.getLogger(MovieController.class);
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final MovieService movieService;
+    private final TmdbImportService importService;
+    private final HttpCaching httpCaching;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService, TmdbImportService importService, HttpCaching httpCaching) {
         this.movieService = movieService;
+        this.importService = importService;
+        this.httpCaching = httpCaching;
     }
 
     /**
@@ -47,40 +63,64 @@ public class MovieController {
     }
 
     /**
-     * Récupère tous les films locaux
+     * Crée ou met à jour en lot des films locaux à partir de leurs IDs TMDB (résultat par élément)
      */
-    @GetMapping
-    public ResponseEntity<Map<String, Object>> findAll() {
-        logger.info("Requête GET /movie - Récupération de tous les films");
-        Map<String, Object> result = movieService.findAll();
+    @PostMapping("/tmdb/batch")
+    public ResponseEntity<ImportResponse> importFromTmdb(@Valid @RequestBody ImportMoviesFromTmdbDto importDto) {
+        logger.info("Requête POST /movie/tmdb/batch - Import de {} films", importDto.getItems().size());
+        ImportResponse result = importService.importMovies(importDto.getItems());
         return ResponseEntity.ok(result);
     }
 
     /**
-     * Récupère les films en wishlist
+     * Récupère une page de films locaux, filtrable (wishlist, watched, rated, minRating)
+     */
+    @GetMapping
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findAll(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "wishlist", required = false) Boolean wishlist,
+            @RequestParam(name = "watched", required = false) Boolean watched,
+            @RequestParam(name = "rated", required = false) Boolean rated,
+            @RequestParam(name = "minRating", required = false) Float minRating,
+            WebRequest request) {
+        logger.info("Requête GET /movie - Récupération des films (limite: {})", limit);
+        MediaListFilter filter = new MediaListFilter(wishlist, watched, rated, minRating);
+        return httpCaching.library(request, TmdbMediaType.MOVIE, "list",
+                () -> movieService.findAll(filter, after, pageSize(limit)));
+    }
+
+    /**
+     * Récupère une page de films en wishlist
      */
     @GetMapping("/wishlist")
-    public ResponseEntity<Map<String, Object>> findWishlist() {
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findWishlist(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request) {
         logger.info("Requête GET /movie/wishlist - Récupération des films en wishlist");
-        Map<String, Object> result = movieService.findWishlist();
-        return ResponseEntity.ok(result);
+        return httpCaching.library(request, TmdbMediaType.MOVIE, "wishlist",
+                () -> movieService.findWishlist(after, pageSize(limit)));
     }
 
     /**
-     * Récupère les films notés
+     * Récupère une page de films notés
      */
     @GetMapping("/rated")
-    public ResponseEntity<Map<String, Object>> findRated() {
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findRated(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request) {
         logger.info("Requête GET /movie/rated - Récupération des films notés");
-        Map<String, Object> result = movieService.findRated();
-        return ResponseEntity.ok(result);
+        return httpCaching.library(request, TmdbMediaType.MOVIE, "rated",
+                () -> movieService.findRated(after, pageSize(limit)));
     }
 
     /**
      * Recherche dans les films avec enrichissement TMDB
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> search(
+    public ResponseEntity<SearchResponse<MovieSearchResult>> search(
             @RequestParam(name = "q", defaultValue = "") String query,
             @RequestParam(name = "limit", defaultValue = "20") 
             @Min(value = 1, message = "La limite doit être au moins 1") 
@@ -90,7 +130,7 @@ public class MovieController {
         logger.info("Requête GET /movie/search - Recherche: '{}' (limite: {})", query, limit);
         
         int safeLimit = Math.max(1, Math.min(50, limit));
-        Map<String, Object> result = movieService.search(query, safeLimit);
+        SearchResponse<MovieSearchResult> result = movieService.search(query, safeLimit);
         
         return ResponseEntity.ok(result);
     }
@@ -99,20 +139,21 @@ public class MovieController {
      * Récupère les détails TMDB d'un film avec statut local
      */
     @GetMapping("/tmdb/{tmdbId}")
-    public ResponseEntity<Map<String, Object>> getTmdbMovie(@PathVariable Integer tmdbId) {
+    public ResponseEntity<TmdbLookupResponse<TmdbMovieDto, Movie>> getTmdbMovie(
+            @PathVariable Integer tmdbId) {
         logger.info("Requête GET /movie/tmdb/{} - Récupération des détails TMDB", tmdbId);
-        Map<String, Object> result = movieService.findByTmdbIdWithTmdbDetails(tmdbId);
-        return ResponseEntity.ok(result);
+        return httpCaching.tmdb(() -> movieService.findByTmdbIdWithTmdbDetails(tmdbId),
+                result -> result.stale() != null);
     }
 
     /**
      * Récupère un film local par son ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> findOne(@PathVariable Long id) {
+    public ResponseEntity<MediaView<TmdbMovieDto>> findOne(@PathVariable Long id) {
         logger.info("Requête GET /movie/{} - Récupération du film", id);
-        Map<String, Object> result = movieService.findOne(id);
-        return ResponseEntity.ok(result);
+        return httpCaching.tmdb(() -> movieService.findOne(id),
+                result -> result.stale() != null);
     }
 
     /**
@@ -125,6 +166,16 @@ public class MovieController {
         return ResponseEntity.ok(movie);
     }
 
+    /**
+     * Ajoute une vue du film et le marque comme vu (incrément atomique en base)
+     */
+    @PostMapping("/{id}/views")
+    public ResponseEntity<Movie> recordView(@PathVariable Long id) {
+        logger.info("Requête POST /movie/{}/views - Nouvelle vue", id);
+        Movie movie = movieService.recordView(id);
+        return ResponseEntity.ok(movie);
+    }
+
     /**
      * Supprime un film local
      */
@@ -134,4 +185,8 @@ public class MovieController {
         Movie movie = movieService.remove(id);
         return ResponseEntity.ok(movie);
     }
+
+    private static int pageSize(Integer limit) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+    }
 }
@@ -1,8 +1,19 @@
 package com.example.java_cine_api.controller;
 
 import com.example.java_cine_api.dto.serie.*;
+import com.example.java_cine_api.dto.response.ImportResponse;
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.PagedResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.SerieSearchResult;
+import com.example.java_cine_api.dto.response.TmdbLookupResponse;
+import com.example.java_cine_api.dto.response.TmdbPosterView;
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
 import com.example.java_cine_api.entity.Serie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.MediaListFilter;
 import com.example.java_cine_api.service.SerieService;
+import com.example.java_cine_api.service.TmdbImportService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -11,8 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.Map;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/serie")
@@ -20,7 +30,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class SerieController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final SerieService serieService;
+    private final TmdbImportService importService;
+    private final HttpCaching httpCaching;
 
     /**
      * Crée une nouvelle série manuellement
@@ -43,40 +57,64 @@ public class SerieController {
     }
 
     /**
-     * Récupère toutes les séries locales
+     * Crée ou met à jour en lot des séries locales à partir de leurs IDs TMDB (résultat par élément)
      */
-    @GetMapping
-    public ResponseEntity<Map<String, Object>> findAll() {
-        log.info("Requête GET /serie - Récupération de toutes les séries");
-        Map<String, Object> result = serieService.findAll();
+    @PostMapping("/tmdb/batch")
+    public ResponseEntity<ImportResponse> importFromTmdb(@Valid @RequestBody ImportSeriesFromTmdbDto importDto) {
+        log.info("Requête POST /serie/tmdb/batch - Import de {} séries", importDto.getItems().size());
+        ImportResponse result = importService.importSeries(importDto.getItems());
         return ResponseEntity.ok(result);
     }
 
     /**
-     * Récupère les séries en wishlist
+     * Récupère une page de séries locales, filtrable (wishlist, watched, rated, minRating)
+     */
+    @GetMapping
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findAll(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "wishlist", required = false) Boolean wishlist,
+            @RequestParam(name = "watched", required = false) Boolean watched,
+            @RequestParam(name = "rated", required = false) Boolean rated,
+            @RequestParam(name = "minRating", required = false) Float minRating,
+            WebRequest request) {
+        log.info("Requête GET /serie - Récupération des séries (limite: {})", limit);
+        MediaListFilter filter = new MediaListFilter(wishlist, watched, rated, minRating);
+        return httpCaching.library(request, TmdbMediaType.SERIE, "list",
+                () -> serieService.findAll(filter, after, pageSize(limit)));
+    }
+
+    /**
+     * Récupère une page de séries en wishlist
      */
     @GetMapping("/wishlist")
-    public ResponseEntity<Map<String, Object>> findWishlist() {
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findWishlist(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request) {
         log.info("Requête GET /serie/wishlist - Récupération des séries en wishlist");
-        Map<String, Object> result = serieService.findWishlist();
-        return ResponseEntity.ok(result);
+        return httpCaching.library(request, TmdbMediaType.SERIE, "wishlist",
+                () -> serieService.findWishlist(after, pageSize(limit)));
     }
 
     /**
-     * Récupère les séries notées
+     * Récupère une page de séries notées
      */
     @GetMapping("/rated")
-    public ResponseEntity<Map<String, Object>> findRated() {
+    public ResponseEntity<PagedResponse<MediaView<TmdbPosterView>>> findRated(
+            @RequestParam(name = "limit", defaultValue = "50") Integer limit,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request) {
         log.info("Requête GET /serie/rated - Récupération des séries notées");
-        Map<String, Object> result = serieService.findRated();
-        return ResponseEntity.ok(result);
+        return httpCaching.library(request, TmdbMediaType.SERIE, "rated",
+                () -> serieService.findRated(after, pageSize(limit)));
     }
 
     /**
      * Recherche dans les séries avec enrichissement TMDB
      */
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> search(
+    public ResponseEntity<SearchResponse<SerieSearchResult>> search(
             @RequestParam(name = "q", defaultValue = "") String query,
             @RequestParam(name = "limit", defaultValue = "20") 
             @Min(value = 1, message = "La limite doit être au moins 1") 
@@ -86,7 +124,7 @@ public class SerieController {
         log.info("Requête GET /serie/search - Recherche: '{}' (limite: {})", query, limit);
         
         int safeLimit = Math.max(1, Math.min(50, limit));
-        Map<String, Object> result = serieService.search(query, safeLimit);
+        SearchResponse<SerieSearchResult> result = serieService.search(query, safeLimit);
         
         return ResponseEntity.ok(result);
     }
@@ -95,20 +133,21 @@ public class SerieController {
      * Récupère les détails TMDB d'une série avec statut local
      */
     @GetMapping("/tmdb/{tmdbId}")
-    public ResponseEntity<Map<String, Object>> getTmdbSerie(@PathVariable Integer tmdbId) {
+    public ResponseEntity<TmdbLookupResponse<TmdbSerieDto, Serie>> getTmdbSerie(
+            @PathVariable Integer tmdbId) {
         log.info("Requête GET /serie/tmdb/{} - Récupération des détails TMDB", tmdbId);
-        Map<String, Object> result = serieService.findByTmdbIdWithTmdbDetails(tmdbId);
-        return ResponseEntity.ok(result);
+        return httpCaching.tmdb(() -> serieService.findByTmdbIdWithTmdbDetails(tmdbId),
+                result -> result.stale() != null);
     }
 
     /**
      * Récupère une série locale par son ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> findOne(@PathVariable Long id) {
+    public ResponseEntity<MediaView<TmdbSerieDto>> findOne(@PathVariable Long id) {
         log.info("Requête GET /serie/{} - Récupération de la série", id);
-        Map<String, Object> result = serieService.findOne(id);
-        return ResponseEntity.ok(result);
+        return httpCaching.tmdb(() -> serieService.findOne(id),
+                result -> result.stale() != null);
     }
 
     /**
@@ -121,6 +160,16 @@ public class SerieController {
         return ResponseEntity.ok(serie);
     }
 
+    /**
+     * Ajoute une vue de la série et la marque comme vue (incrément atomique en base)
+     */
+    @PostMapping("/{id}/views")
+    public ResponseEntity<Serie> recordView(@PathVariable Long id) {
+        log.info("Requête POST /serie/{}/views - Nouvelle vue", id);
+        Serie serie = serieService.recordView(id);
+        return ResponseEntity.ok(serie);
+    }
+
     /**
      * Supprime une série locale
      */
@@ -130,4 +179,8 @@ public class SerieController {
         Serie serie = serieService.remove(id);
         return ResponseEntity.ok(serie);
     }
+
+    private static int pageSize(Integer limit) {
+        return Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+    }
 }
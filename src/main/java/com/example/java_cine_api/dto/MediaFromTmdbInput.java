@@ -0,0 +1,21 @@
+package com.example.java_cine_api.dto;
+
+/**
+ * Champs saisis pour ajouter un film / une série depuis TMDB (implémenté par les DTO de chaque type)
+ */
+public interface MediaFromTmdbInput {
+
+    Integer getTmdbId();
+
+    Float getRating();
+
+    Boolean getWishlist();
+
+    String getReview();
+
+    Integer getViewCount();
+
+    Boolean getWatched();
+
+    String getTitleOverride();
+}
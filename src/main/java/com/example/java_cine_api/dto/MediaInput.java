@@ -0,0 +1,21 @@
+package com.example.java_cine_api.dto;
+
+/**
+ * Champs saisis pour créer ou modifier un film / une série (implémenté par les DTO de chaque type)
+ */
+public interface MediaInput {
+
+    String getTitle();
+
+    Integer getTmdbId();
+
+    Float getRating();
+
+    Boolean getWishlist();
+
+    String getReview();
+
+    Integer getViewCount();
+
+    Boolean getWatched();
+}
@@ -1,5 +1,6 @@
 package com.example.java_cine_api.dto.movie;
 
+import com.example.java_cine_api.dto.MediaFromTmdbInput;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -11,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class CreateMovieFromTmdbDto {
+public class CreateMovieFromTmdbDto implements MediaFromTmdbInput {
 
     @NotNull(message = "L'ID TMDB est obligatoire")
     private Integer tmdbId;
@@ -0,0 +1,7 @@
+package com.example.java_cine_api.dto.response;
+
+/**
+ * Informations générales de l'API
+ */
+public record ApiInfoResponse(String name, String description, String timestamp, String status) {
+}
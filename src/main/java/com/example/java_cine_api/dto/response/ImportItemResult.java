@@ -0,0 +1,29 @@
+package com.example.java_cine_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Résultat d'un élément d'import : created, updated, failed ou ignored
+ */
+public record ImportItemResult(Integer tmdbId,
+                               String status,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String title,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) String message) {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String FAILED = "failed";
+    public static final String IGNORED = "ignored";
+
+    public static ImportItemResult success(Integer tmdbId, String status, String title) {
+        return new ImportItemResult(tmdbId, status, title, null);
+    }
+
+    public static ImportItemResult failed(Integer tmdbId, String message) {
+        return new ImportItemResult(tmdbId, FAILED, null, message);
+    }
+
+    public static ImportItemResult ignored(Integer tmdbId, String message) {
+        return new ImportItemResult(tmdbId, IGNORED, null, message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.java_cine_api.dto.response;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import en lot, avec le résultat de chaque élément dans l'ordre de la requête
+ */
+public record ImportResponse(int total,
+                             long created,
+                             long updated,
+                             long failed,
+                             long ignored,
+                             List<ImportItemResult> results) {
+
+    public static ImportResponse of(List<ImportItemResult> results) {
+        return new ImportResponse(results.size(),
+                count(results, ImportItemResult.CREATED),
+                count(results, ImportItemResult.UPDATED),
+                count(results, ImportItemResult.FAILED),
+                count(results, ImportItemResult.IGNORED),
+                results);
+    }
+
+    private static long count(List<ImportItemResult> results, String status) {
+        return results.stream().filter(result -> status.equals(result.status())).count();
+    }
+}
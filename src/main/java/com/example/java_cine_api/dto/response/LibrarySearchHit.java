@@ -0,0 +1,25 @@
+package com.example.java_cine_api.dto.response;
+
+import com.example.java_cine_api.repository.LibrarySearchRow;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Locale;
+
+/**
+ * Élément de la bibliothèque trouvé par la recherche locale
+ */
+public record LibrarySearchHit(String type,
+                               Long id,
+                               String title,
+                               Integer tmdbId,
+                               Float rating,
+                               Boolean wishlist,
+                               Boolean watched,
+                               @JsonProperty("poster_path") String posterPath,
+                               double score) {
+
+    public static LibrarySearchHit of(LibrarySearchRow row) {
+        return new LibrarySearchHit(row.mediaType().name().toLowerCase(Locale.ROOT), row.id(), row.title(),
+                row.tmdbId(), row.rating(), row.wishlist(), row.watched(), row.posterPath(), row.score());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.java_cine_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Page de résultats de la recherche locale ; nextOffset est absent sur la dernière page
+ */
+public record LibrarySearchResponse(String query,
+                                    int limit,
+                                    int offset,
+                                    @JsonInclude(JsonInclude.Include.NON_NULL) Integer nextOffset,
+                                    List<LibrarySearchHit> results) {
+
+    public static LibrarySearchResponse empty(String query, int limit, int offset) {
+        return new LibrarySearchResponse(query, limit, offset, null, List.of());
+    }
+}
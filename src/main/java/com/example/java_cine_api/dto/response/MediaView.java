@@ -0,0 +1,35 @@
+package com.example.java_cine_api.dto.response;
+
+import com.example.java_cine_api.entity.Media;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Film ou série de la bibliothèque ; tmdb contient l'enrichissement TMDB (poster seul dans les listes,
+ * fiche complète dans le détail) et n'apparaît pas s'il est absent ; stale vaut true quand TMDB est
+ * indisponible et que la fiche provient du cache périmé ou des métadonnées locales
+ */
+public record MediaView<T>(Long id,
+                           String title,
+                           Integer tmdbId,
+                           Float rating,
+                           Boolean wishlist,
+                           String review,
+                           Integer viewCount,
+                           Boolean watched,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) T tmdb,
+                           @JsonInclude(JsonInclude.Include.NON_NULL) Boolean stale) {
+
+    public static <T> MediaView<T> of(Media media, T tmdb) {
+        return of(media, tmdb, false);
+    }
+
+    public static <T> MediaView<T> of(Media media, T tmdb, boolean stale) {
+        return new MediaView<>(media.getId(), media.getTitle(), media.getTmdbId(), media.getRating(),
+                media.getWishlist(), media.getReview() != null ? media.getReview() : "", media.getViewCount(),
+                media.getWatched(), media.getCreatedAt(), media.getUpdatedAt(), tmdb, stale ? Boolean.TRUE : null);
+    }
+}
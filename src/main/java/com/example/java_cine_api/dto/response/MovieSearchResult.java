@@ -0,0 +1,23 @@
+package com.example.java_cine_api.dto.response;
+
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.entity.Movie;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Film trouvé sur TMDB, avec l'éventuel film local correspondant
+ */
+public record MovieSearchResult(String type,
+                                Integer tmdbId,
+                                String title,
+                                @JsonProperty("poster_path") String posterPath,
+                                String overview,
+                                @JsonProperty("release_date") String releaseDate,
+                                @JsonProperty("vote_average") Float voteAverage,
+                                Movie local) {
+
+    public static MovieSearchResult of(TmdbMovieDto tmdbMovie, Movie local) {
+        return new MovieSearchResult("movie", tmdbMovie.getId(), tmdbMovie.getTitle(), tmdbMovie.getPosterPath(),
+                tmdbMovie.getOverview(), tmdbMovie.getReleaseDate(), tmdbMovie.getVoteAverage(), local);
+    }
+}
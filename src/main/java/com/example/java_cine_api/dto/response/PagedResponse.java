@@ -0,0 +1,25 @@
+package com.example.java_cine_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Page d'une liste paginée par curseur ; nextCursor vaut null sur la dernière page
+ */
+public record PagedResponse<T>(List<T> items,
+                               int limit,
+                               String nextCursor,
+                               @JsonInclude(JsonInclude.Include.NON_NULL) Long total) {
+
+    public PagedResponse(List<T> items, int limit, String nextCursor) {
+        this(items, limit, nextCursor, null);
+    }
+
+    /**
+     * Même page avec total, le nombre d'éléments de toute la liste (toutes pages confondues)
+     */
+    public PagedResponse<T> withTotal(long total) {
+        return new PagedResponse<>(items, limit, nextCursor, total);
+    }
+}
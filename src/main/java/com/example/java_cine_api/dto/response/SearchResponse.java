@@ -0,0 +1,17 @@
+package com.example.java_cine_api.dto.response;
+
+import java.util.List;
+
+/**
+ * Résultats d'une recherche TMDB
+ */
+public record SearchResponse<T>(String query, int limit, int total, List<T> results) {
+
+    public static <T> SearchResponse<T> of(String query, int limit, List<T> results) {
+        return new SearchResponse<>(query, limit, results.size(), results);
+    }
+
+    public static <T> SearchResponse<T> empty(String query, int limit) {
+        return new SearchResponse<>(query, limit, 0, List.of());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.java_cine_api.dto.response;
+
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
+import com.example.java_cine_api.entity.Serie;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Série trouvée sur TMDB, avec l'éventuelle série locale correspondante
+ */
+public record SerieSearchResult(String type,
+                                Integer tmdbId,
+                                String title,
+                                @JsonProperty("poster_path") String posterPath,
+                                String overview,
+                                @JsonProperty("first_air_date") String firstAirDate,
+                                @JsonProperty("vote_average") Float voteAverage,
+                                Serie local) {
+
+    public static SerieSearchResult of(TmdbSerieDto tmdbSerie, Serie local) {
+        return new SerieSearchResult("serie", tmdbSerie.getId(), tmdbSerie.getName(), tmdbSerie.getPosterPath(),
+                tmdbSerie.getOverview(), tmdbSerie.getFirstAirDate(), tmdbSerie.getVoteAverage(), local);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.java_cine_api.dto.response;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Locale;
+
+/**
+ * Titre proposé en saisie semi-automatique ; localId n'est présent que pour un élément de la bibliothèque
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TitleSuggestion(String type, String title, Integer tmdbId, Long localId) {
+
+    public static TitleSuggestion local(TmdbMediaType mediaType, Long localId, String title, Integer tmdbId) {
+        return new TitleSuggestion(typeOf(mediaType), title, tmdbId, localId);
+    }
+
+    public static TitleSuggestion tmdb(TmdbMediaType mediaType, Integer tmdbId, String title) {
+        return new TitleSuggestion(typeOf(mediaType), title, tmdbId, null);
+    }
+
+    public boolean isLocal() {
+        return localId != null;
+    }
+
+    private static String typeOf(TmdbMediaType mediaType) {
+        return mediaType.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.java_cine_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Fiche TMDB et enregistrement local correspondant (local vaut null si absent de la bibliothèque).
+ * stale vaut true quand TMDB est indisponible et que la fiche provient du cache périmé ou des métadonnées locales.
+ */
+public record TmdbLookupResponse<T, L>(T tmdb, L local, @JsonInclude(JsonInclude.Include.NON_NULL) Boolean stale) {
+
+    public TmdbLookupResponse(T tmdb, L local) {
+        this(tmdb, local, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.java_cine_api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Enrichissement TMDB des listes, lu depuis les métadonnées locales
+ */
+public record TmdbPosterView(@JsonProperty("poster_path") String posterPath) {
+}
@@ -0,0 +1,20 @@
+package com.example.java_cine_api.dto.serie;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportSeriesFromTmdbDto {
+
+    @NotEmpty(message = "La liste des séries à importer est obligatoire")
+    @Size(max = 5000, message = "Un import ne peut pas dépasser 5000 séries")
+    private List<@Valid CreateSerieFromTmdbDto> items;
+}
@@ -1,5 +1,6 @@
 package com.example.java_cine_api.dto.serie;
 
+import com.example.java_cine_api.dto.MediaInput;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
@@ -10,7 +11,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpdateSerieDto {
+public class UpdateSerieDto implements MediaInput {
 
     @Size(max = 255, message = "Le titre ne peut pas dépasser 255 caractères")
     private String title;
@@ -0,0 +1,17 @@
+package com.example.java_cine_api.dto.tmdb;
+
+/**
+ * Niveau de détail demandé à TMDB pour une fiche film / série
+ */
+public enum TmdbDetailLevel {
+
+    /**
+     * Fiche seule, sans crédits : titre, poster, genres, durée... (création, import, rafraîchissement des métadonnées)
+     */
+    SUMMARY,
+
+    /**
+     * Fiche avec crédits (append_to_response=credits), distribution tronquée aux premiers rôles (vue détaillée)
+     */
+    FULL
+}
@@ -0,0 +1,9 @@
+package com.example.java_cine_api.entity;
+
+/**
+ * Type de média TMDB associé à une ligne de métadonnées
+ */
+public enum TmdbMediaType {
+    MOVIE,
+    SERIE
+}
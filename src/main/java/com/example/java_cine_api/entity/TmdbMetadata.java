@@ -0,0 +1,61 @@
+package com.example.java_cine_api.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copie locale des métadonnées TMDB d'un film ou d'une série, pour servir les listes sans appel réseau
+ */
+@Entity
+@Table(name = "tmdb_metadata", uniqueConstraints = @UniqueConstraint(
+        name = "uk_tmdb_metadata_media_type_tmdb_id", columnNames = {"media_type", "tmdb_id"}))
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TmdbMetadata {
+
+    // Séquence tmdb_metadata_seq incrémentée de 50 (blocs d'ids, INSERT en lot), cf. Media
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_type", nullable = false, length = 10)
+    private TmdbMediaType mediaType;
+
+    @Column(name = "tmdb_id", nullable = false)
+    private Integer tmdbId;
+
+    @Column(name = "poster_path")
+    private String posterPath;
+
+    @Column(name = "backdrop_path")
+    private String backdropPath;
+
+    // Noms des genres séparés par des virgules
+    @Column(length = 500)
+    private String genres;
+
+    // Durée en minutes (film) ou durée d'un épisode (série)
+    private Integer runtime;
+
+    @Column(name = "vote_average", columnDefinition = "REAL")
+    private Float voteAverage;
+
+    // Date de sortie (film) ou de première diffusion (série), format TMDB yyyy-MM-dd
+    @Column(name = "release_date", length = 10)
+    private String releaseDate;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    public TmdbMetadata(TmdbMediaType mediaType, Integer tmdbId) {
+        this.mediaType = mediaType;
+        this.tmdbId = tmdbId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.java_cine_api.exception;
+
+/**
+ * TMDB momentanément indisponible : disjoncteur ouvert, limiteur saturé, délai dépassé, erreur 5xx ou réseau
+ * (les échecs comptés par le disjoncteur). Seul cas où une fiche de repli peut être servie à la place ;
+ * une erreur définitive (4xx : fiche supprimée, jeton invalide...) reste une TmdbApiException.
+ */
+public class TmdbUnavailableException extends TmdbApiException {
+
+    public TmdbUnavailableException(String message) {
+        super(message);
+    }
+
+    public TmdbUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.java_cine_api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construit la requête JPQL paginée par clé (created_at DESC, id DESC) avec les filtres de liste.
+ * Seules les conditions des filtres renseignés sont ajoutées, pour que le planificateur
+ * puisse utiliser les index composites correspondants.
+ */
+final class KeysetPageQuery {
+
+    private KeysetPageQuery() {
+    }
+
+    /**
+     * Exécute la requête : select doit déclarer l'alias de l'entité paginée (ex. "FROM Movie m ...")
+     */
+    static <T> List<T> fetch(EntityManager entityManager, Class<T> resultType, String select, String alias,
+                             MediaListFilter filter, PageCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.wishlist() != null) {
+            // Littéral plutôt que paramètre : le planificateur peut retenir l'index partiel "WHERE wishlist"
+            conditions.add(alias + ".wishlist = " + filter.wishlist());
+        }
+        if (filter.watched() != null) {
+            conditions.add(alias + ".watched = :watched");
+            parameters.put("watched", filter.watched());
+        }
+        if (filter.rated() != null) {
+            conditions.add(alias + ".rating IS " + (filter.rated() ? "NOT NULL" : "NULL"));
+        }
+        if (filter.minRating() != null) {
+            conditions.add(alias + ".rating >= :minRating");
+            parameters.put("minRating", filter.minRating());
+        }
+        if (after != null) {
+            conditions.add("(" + alias + ".createdAt < :afterCreatedAt OR ("
+                + alias + ".createdAt = :afterCreatedAt AND " + alias + ".id < :afterId))");
+            parameters.put("afterCreatedAt", after.createdAt());
+            parameters.put("afterId", after.id());
+        }
+
+        StringBuilder jpql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(alias).append(".createdAt DESC, ").append(alias).append(".id DESC");
+
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), resultType);
+        parameters.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
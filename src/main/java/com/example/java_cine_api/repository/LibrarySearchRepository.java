@@ -0,0 +1,71 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Recherche plein texte dans la bibliothèque locale (films et séries), sans appel TMDB.
+ * S'appuie sur les index GIN créés par la migration db/migration/V1__initial_schema.sql : tsvector français sans accents (titre + critique)
+ * et trigrammes sur le titre (fautes de frappe, mots partiels). Requiert les extensions unaccent et pg_trgm.
+ */
+@Repository
+public class LibrarySearchRepository {
+
+    // %1$s : table, %2$s : type TMDB ; expressions identiques à celles des index pour qu'ils soient utilisés
+    private static final String SEARCH_TABLE_SQL = """
+            SELECT '%2$s' AS media_type, t.id, t.title, t.tmdb_id, t.rating, t.wishlist, t.watched,
+                   ts_rank_cd(library_search_vector(t.title, t.review), websearch_to_tsquery('french', f_unaccent(:query)))
+                     + word_similarity(f_unaccent(lower(:query)), f_unaccent(lower(t.title))) AS score
+            FROM %1$s t
+            WHERE library_search_vector(t.title, t.review) @@ websearch_to_tsquery('french', f_unaccent(:query))
+               OR f_unaccent(lower(:query)) <%% f_unaccent(lower(t.title))
+            """;
+
+    private static final String SEARCH_SQL = """
+            SELECT r.media_type, r.id, r.title, r.tmdb_id, r.rating, r.wishlist, r.watched, r.score, md.poster_path
+            FROM (
+            %s
+            UNION ALL
+            %s
+            ) r
+            LEFT JOIN tmdb_metadata md ON md.media_type = r.media_type AND md.tmdb_id = r.tmdb_id
+            ORDER BY r.score DESC, r.media_type, r.id DESC
+            LIMIT :limit OFFSET :offset
+            """.formatted(SEARCH_TABLE_SQL.formatted("movie", TmdbMediaType.MOVIE.name()),
+                          SEARCH_TABLE_SQL.formatted("serie", TmdbMediaType.SERIE.name()));
+
+    private static final RowMapper<LibrarySearchRow> ROW_MAPPER = (rs, rowNum) -> new LibrarySearchRow(
+        TmdbMediaType.valueOf(rs.getString("media_type")),
+        rs.getLong("id"),
+        rs.getString("title"),
+        rs.getObject("tmdb_id", Integer.class),
+        rs.getObject("rating", Float.class),
+        rs.getBoolean("wishlist"),
+        rs.getBoolean("watched"),
+        rs.getString("poster_path"),
+        rs.getDouble("score"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LibrarySearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Résultats classés par pertinence décroissante (page offset / limit)
+     */
+    @Timed(value = "library.search", description = "Recherche plein texte dans la bibliothèque locale", histogram = true)
+    public List<LibrarySearchRow> search(String query, int offset, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("query", query)
+            .addValue("offset", offset)
+            .addValue("limit", limit);
+        return jdbcTemplate.query(SEARCH_SQL, parameters, ROW_MAPPER);
+    }
+}
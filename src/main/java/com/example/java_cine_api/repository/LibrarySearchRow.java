@@ -0,0 +1,17 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+
+/**
+ * Résultat de la recherche locale : film ou série, avec son poster et son score de pertinence
+ */
+public record LibrarySearchRow(TmdbMediaType mediaType,
+                               Long id,
+                               String title,
+                               Integer tmdbId,
+                               Float rating,
+                               Boolean wishlist,
+                               Boolean watched,
+                               String posterPath,
+                               double score) {
+}
@@ -0,0 +1,113 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Écritures en lot (JDBC batch, INSERT ... ON CONFLICT) pour l'import massif depuis TMDB.
+ * Évite le cycle findByTmdbId + save de JPA pour chaque élément.
+ */
+@Repository
+public class MediaImportRepository {
+
+    // %1$s : table cible (movie ou serie)
+    private static final String UPSERT_MEDIA_SQL = """
+            INSERT INTO %1$s (title, tmdb_id, rating, wishlist, review, view_count, watched, created_at, updated_at)
+            VALUES (?, ?, ?, COALESCE(?, FALSE), ?, COALESCE(?, 0), COALESCE(?, FALSE), ?, ?)
+            ON CONFLICT (tmdb_id) DO UPDATE SET
+                title = COALESCE(?, %1$s.title),
+                rating = COALESCE(EXCLUDED.rating, %1$s.rating),
+                wishlist = COALESCE(?, %1$s.wishlist),
+                review = CASE WHEN BTRIM(EXCLUDED.review) <> '' THEN EXCLUDED.review ELSE %1$s.review END,
+                view_count = COALESCE(?, %1$s.view_count),
+                watched = COALESCE(?, %1$s.watched),
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String UPSERT_METADATA_SQL = """
+            INSERT INTO tmdb_metadata (media_type, tmdb_id, poster_path, backdrop_path, genres, runtime,
+                                       vote_average, release_date, fetched_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (media_type, tmdb_id) DO UPDATE SET
+                poster_path = EXCLUDED.poster_path,
+                backdrop_path = EXCLUDED.backdrop_path,
+                genres = EXCLUDED.genres,
+                runtime = EXCLUDED.runtime,
+                vote_average = EXCLUDED.vote_average,
+                release_date = EXCLUDED.release_date,
+                fetched_at = EXCLUDED.fetched_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public MediaImportRepository(JdbcTemplate jdbcTemplate,
+                                 @Value("${tmdb.import.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Insère ou met à jour les médias et leurs métadonnées TMDB dans une même transaction
+     */
+    @Transactional
+    @Timed(value = "media.import.upsert", description = "Écriture en lot des médias importés depuis TMDB", histogram = true)
+    public void upsertAll(TmdbMediaType mediaType, List<MediaUpsertRow> rows, List<TmdbMetadata> metadata) {
+        upsertMedia(mediaType, rows);
+        upsertMetadata(metadata);
+    }
+
+    private void upsertMedia(TmdbMediaType mediaType, List<MediaUpsertRow> rows) {
+        String sql = UPSERT_MEDIA_SQL.formatted(tableOf(mediaType));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> {
+            // VALUES (insertion)
+            ps.setString(1, row.title());
+            ps.setInt(2, row.tmdbId());
+            ps.setObject(3, row.rating(), Types.REAL);
+            ps.setObject(4, row.wishlist(), Types.BOOLEAN);
+            ps.setString(5, row.review());
+            ps.setObject(6, row.viewCount(), Types.INTEGER);
+            ps.setObject(7, row.watched(), Types.BOOLEAN);
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+            // DO UPDATE (champs fournis uniquement)
+            ps.setString(10, row.titleOverride());
+            ps.setObject(11, row.wishlist(), Types.BOOLEAN);
+            ps.setObject(12, row.viewCount(), Types.INTEGER);
+            ps.setObject(13, row.watched(), Types.BOOLEAN);
+        });
+    }
+
+    private void upsertMetadata(List<TmdbMetadata> metadata) {
+        jdbcTemplate.batchUpdate(UPSERT_METADATA_SQL, metadata, batchSize, (ps, md) -> {
+            ps.setString(1, md.getMediaType().name());
+            ps.setInt(2, md.getTmdbId());
+            ps.setString(3, md.getPosterPath());
+            ps.setString(4, md.getBackdropPath());
+            ps.setString(5, md.getGenres());
+            ps.setObject(6, md.getRuntime(), Types.INTEGER);
+            ps.setObject(7, md.getVoteAverage(), Types.REAL);
+            ps.setString(8, md.getReleaseDate());
+            ps.setTimestamp(9, Timestamp.valueOf(md.getFetchedAt()));
+        });
+    }
+
+    private static String tableOf(TmdbMediaType mediaType) {
+        return switch (mediaType) {
+            case MOVIE -> "movie";
+            case SERIE -> "serie";
+        };
+    }
+}
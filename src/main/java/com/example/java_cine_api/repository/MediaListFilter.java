@@ -0,0 +1,19 @@
+package com.example.java_cine_api.repository;
+
+/**
+ * Filtres optionnels des listes de films/séries (null = pas de filtre)
+ */
+public record MediaListFilter(Boolean wishlist, Boolean watched, Boolean rated, Float minRating) {
+
+    public static MediaListFilter none() {
+        return new MediaListFilter(null, null, null, null);
+    }
+
+    public static MediaListFilter wishlistOnly() {
+        return new MediaListFilter(true, null, null, null);
+    }
+
+    public static MediaListFilter ratedOnly() {
+        return new MediaListFilter(null, null, true, null);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Media;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Requêtes communes aux films et aux séries (#{#entityName} désigne l'entité du repository concret)
+ */
+@NoRepositoryBean
+public interface MediaRepository<E extends Media> extends JpaRepository<E, Long>, MediaRepositoryCustom<E> {
+
+    /**
+     * Trouve un média par son ID TMDB
+     */
+    Optional<E> findByTmdbId(Integer tmdbId);
+
+    /**
+     * Vérifie si un média existe avec cet ID TMDB
+     */
+    boolean existsByTmdbId(Integer tmdbId);
+
+    /**
+     * Trouve des médias par liste d'IDs TMDB
+     */
+    @Query("SELECT m FROM #{#entityName} m WHERE m.tmdbId IN :tmdbIds")
+    List<E> findByTmdbIdIn(@Param("tmdbIds") List<Integer> tmdbIds);
+
+    /**
+     * Nombre de médias notés (parcours de l'index partiel idx_*_rating, sans lire la table)
+     */
+    long countByRatingIsNotNull();
+
+    /**
+     * Titres de tous les médias (index de suggestions)
+     */
+    @Query("SELECT new com.example.java_cine_api.repository.MediaTitle(m.id, m.title, m.tmdbId) FROM #{#entityName} m")
+    List<MediaTitle> findAllTitles();
+
+    /**
+     * Parcourt tous les médias via un curseur (à consommer dans une transaction, puis fermer le Stream)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM #{#entityName} m ORDER BY m.id")
+    Stream<E> streamAll();
+
+    /**
+     * Parcourt via un curseur les médias modifiés depuis la date donnée (export incrémental)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM #{#entityName} m WHERE m.updatedAt >= :since ORDER BY m.id")
+    Stream<E> streamUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,16 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Media;
+
+import java.util.List;
+
+/**
+ * Requêtes écrites à la main, implémentées par MovieRepositoryImpl / SerieRepositoryImpl
+ */
+public interface MediaRepositoryCustom<E extends Media> {
+
+    /**
+     * Page (created_at DESC, id DESC) après le curseur, avec les métadonnées TMDB locales
+     */
+    List<MediaWithMetadata<E>> findPageWithMetadata(MediaListFilter filter, PageCursor after, int limit);
+}
@@ -0,0 +1,7 @@
+package com.example.java_cine_api.repository;
+
+/**
+ * Titre d'un élément de la bibliothèque (projection légère pour l'index de suggestions)
+ */
+public record MediaTitle(Long id, String title, Integer tmdbId) {
+}
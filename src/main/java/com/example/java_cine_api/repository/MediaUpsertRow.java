@@ -0,0 +1,15 @@
+package com.example.java_cine_api.repository;
+
+/**
+ * Ligne d'import en lot : champs utilisateur d'un film ou d'une série identifiés par leur tmdbId.
+ * Un champ null conserve la valeur existante lors d'une mise à jour.
+ */
+public record MediaUpsertRow(Integer tmdbId,
+                             String title,
+                             String titleOverride,
+                             Float rating,
+                             Boolean wishlist,
+                             String review,
+                             Integer viewCount,
+                             Boolean watched) {
+}
@@ -0,0 +1,77 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Media;
+import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.Serie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compteur de vues incrémenté en base par une seule requête (UPDATE ... RETURNING), sans lecture préalable :
+ * exact sous écritures concurrentes (verrou de ligne) et un seul aller-retour hors transaction (auto-commit)
+ */
+@Repository
+public class MediaViewCountRepository {
+
+    // %s : table cible (movie ou serie) ; updated_at est mis à jour par le trigger de la table
+    private static final String INCREMENT_SQL = """
+            UPDATE %s SET view_count = view_count + 1, watched = TRUE
+            WHERE id = ?
+            RETURNING id, title, tmdb_id, rating, wishlist, review, view_count, watched, created_at, updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MediaViewCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ajoute une vue à l'élément de la table du type donné et le marque comme vu ;
+     * retourne l'élément tel qu'enregistré (entité détachée), vide si l'ID n'existe pas
+     */
+    @Timed(value = "media.views.increment", description = "Incrément atomique du compteur de vues", histogram = true)
+    public Optional<Media> incrementViewCount(TmdbMediaType mediaType, Long id) {
+        String sql = INCREMENT_SQL.formatted(tableOf(mediaType));
+        List<Media> rows = jdbcTemplate.query(sql, (rs, rowNum) -> toMedia(mediaType, rs), id);
+        return rows.stream().findFirst();
+    }
+
+    private static Media toMedia(TmdbMediaType mediaType, ResultSet rs) throws SQLException {
+        String title = rs.getString("title");
+        Integer tmdbId = rs.getObject("tmdb_id", Integer.class);
+        Float rating = rs.getObject("rating", Float.class);
+        boolean wishlist = rs.getBoolean("wishlist");
+        String review = rs.getString("review");
+        int viewCount = rs.getInt("view_count");
+        boolean watched = rs.getBoolean("watched");
+        Media media = switch (mediaType) {
+            case MOVIE -> new Movie(title, tmdbId, rating, wishlist, review, viewCount, watched);
+            case SERIE -> new Serie(title, tmdbId, rating, wishlist, review, viewCount, watched);
+        };
+        media.setId(rs.getLong("id"));
+        media.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        media.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        return media;
+    }
+
+    private static String tableOf(TmdbMediaType mediaType) {
+        return switch (mediaType) {
+            case MOVIE -> "movie";
+            case SERIE -> "serie";
+        };
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Media;
+import com.example.java_cine_api.entity.TmdbMetadata;
+
+/**
+ * Film ou série et ses métadonnées TMDB locales (null si pas encore récupérées)
+ */
+public record MediaWithMetadata<E extends Media>(E media, TmdbMetadata metadata) {
+}
@@ -0,0 +1,23 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Movie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+class MovieRepositoryImpl implements MediaRepositoryCustom<Movie> {
+
+    private static final String SELECT_WITH_METADATA =
+        "SELECT new com.example.java_cine_api.repository.MediaWithMetadata(m, md) FROM Movie m " +
+        "LEFT JOIN TmdbMetadata md ON md.mediaType = com.example.java_cine_api.entity.TmdbMediaType.MOVIE AND md.tmdbId = m.tmdbId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<MediaWithMetadata<Movie>> findPageWithMetadata(MediaListFilter filter, PageCursor after, int limit) {
+        return (List) KeysetPageQuery.fetch(entityManager, MediaWithMetadata.class, SELECT_WITH_METADATA, "m", filter, after, limit);
+    }
+}
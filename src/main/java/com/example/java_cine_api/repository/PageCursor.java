@@ -0,0 +1,45 @@
+package com.example.java_cine_api.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Curseur de pagination par clé (created_at, id) : position du dernier élément renvoyé.
+ * Sérialisé en base64 URL-safe pour rester opaque côté client.
+ */
+public record PageCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encode le curseur en chaîne opaque
+     */
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur reçu en paramètre (null si absent)
+     */
+    public static PageCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Curseur de pagination invalide: " + value);
+            }
+            return new PageCursor(
+                LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException et les erreurs base64 sont des IllegalArgumentException
+            throw new IllegalArgumentException("Curseur de pagination invalide: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.Serie;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+
+class SerieRepositoryImpl implements MediaRepositoryCustom<Serie> {
+
+    private static final String SELECT_WITH_METADATA =
+        "SELECT new com.example.java_cine_api.repository.MediaWithMetadata(s, md) FROM Serie s " +
+        "LEFT JOIN TmdbMetadata md ON md.mediaType = com.example.java_cine_api.entity.TmdbMediaType.SERIE AND md.tmdbId = s.tmdbId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<MediaWithMetadata<Serie>> findPageWithMetadata(MediaListFilter filter, PageCursor after, int limit) {
+        return (List) KeysetPageQuery.fetch(entityManager, MediaWithMetadata.class, SELECT_WITH_METADATA, "s", filter, after, limit);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.java_cine_api.repository;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TmdbMetadataRepository extends JpaRepository<TmdbMetadata, Long> {
+
+    /**
+     * Trouve les métadonnées d'un média par type et ID TMDB
+     */
+    Optional<TmdbMetadata> findByMediaTypeAndTmdbId(TmdbMediaType mediaType, Integer tmdbId);
+
+    /**
+     * Supprime les métadonnées d'un média
+     */
+    void deleteByMediaTypeAndTmdbId(TmdbMediaType mediaType, Integer tmdbId);
+
+    /**
+     * IDs TMDB dont les métadonnées ont été récupérées avant la date donnée (les plus anciennes d'abord)
+     */
+    @Query("SELECT md.tmdbId FROM TmdbMetadata md WHERE md.mediaType = :mediaType AND md.fetchedAt < :before ORDER BY md.fetchedAt ASC")
+    List<Integer> findStaleTmdbIds(@Param("mediaType") TmdbMediaType mediaType,
+                                   @Param("before") LocalDateTime before,
+                                   Pageable pageable);
+}
@@ -0,0 +1,196 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.entity.Media;
+import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.Serie;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Export de la bibliothèque (films puis séries) écrit ligne par ligne directement dans le flux de sortie.
+ * Les entités sont lues via un curseur JDBC et détachées après écriture : la mémoire reste constante.
+ */
+@Service
+public class LibraryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibraryExportService.class);
+
+    private static final String[] COLUMNS = {
+        "type", "id", "title", "tmdbId", "rating", "wishlist", "review", "viewCount", "watched", "createdAt", "updatedAt"
+    };
+
+    private final MovieRepository movieRepository;
+    private final SerieRepository serieRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public LibraryExportService(MovieRepository movieRepository,
+                                SerieRepository serieRepository,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper) {
+        this.movieRepository = movieRepository;
+        this.serieRepository = serieRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Écrit l'export dans le flux ; since (optionnel) limite aux éléments modifiés depuis cette date.
+     * Retourne le nombre de lignes exportées.
+     */
+    @Transactional(readOnly = true)
+    public long export(ExportFormat format, LocalDateTime since, OutputStream out) throws IOException {
+        logger.info("Export de la bibliothèque (format: {}, depuis: {})", format, since);
+
+        RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out, objectMapper);
+        long count = 0;
+        try (Stream<Movie> movies = since != null ? movieRepository.streamUpdatedSince(since) : movieRepository.streamAll()) {
+            count += writeAll(movies, writer);
+        }
+        try (Stream<Serie> series = since != null ? serieRepository.streamUpdatedSince(since) : serieRepository.streamAll()) {
+            count += writeAll(series, writer);
+        }
+        writer.finish();
+
+        logger.info("Export terminé: {} lignes", count);
+        return count;
+    }
+
+    private long writeAll(Stream<? extends Media> entities, RowWriter writer) throws IOException {
+        long count = 0;
+        Iterator<? extends Media> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            Media entity = iterator.next();
+            writer.write(ExportRow.of(entity));
+            // Ne pas accumuler les entités lues dans le contexte de persistance
+            entityManager.detach(entity);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Ligne exportée, commune aux films et aux séries
+     */
+    private record ExportRow(String type, Long id, String title, Integer tmdbId, Float rating, Boolean wishlist,
+                             String review, Integer viewCount, Boolean watched,
+                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static ExportRow of(Media media) {
+            return new ExportRow(media.mediaType().name().toLowerCase(Locale.ROOT), media.getId(), media.getTitle(),
+                media.getTmdbId(), media.getRating(), media.getWishlist(), media.getReview(), media.getViewCount(),
+                media.getWatched(), media.getCreatedAt(), media.getUpdatedAt());
+        }
+
+        Object[] values() {
+            return new Object[] {type, id, title, tmdbId, rating, wishlist, review, viewCount, watched, createdAt, updatedAt};
+        }
+    }
+
+    private interface RowWriter {
+
+        void write(ExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Un objet JSON par ligne (dates au format ISO-8601)
+     */
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // Le flux de la réponse est fermé par le conteneur, pas par le générateur
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            Object[] values = row.values();
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                generator.writeFieldName(COLUMNS[i]);
+                Object value = values[i];
+                if (value instanceof LocalDateTime date) {
+                    generator.writeString(date.toString());
+                } else {
+                    generator.writeObject(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * CSV RFC 4180 avec ligne d'en-tête
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeLine(COLUMNS);
+        }
+
+        @Override
+        public void write(ExportRow row) throws IOException {
+            writeLine(row.values());
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.dto.response.LibrarySearchHit;
+import com.example.java_cine_api.dto.response.LibrarySearchResponse;
+import com.example.java_cine_api.repository.LibrarySearchRow;
+import com.example.java_cine_api.repository.LibrarySearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recherche dans la bibliothèque locale (films et séries), classée par pertinence, sans appel TMDB
+ */
+@Service
+public class LibrarySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibrarySearchService.class);
+
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private final LibrarySearchRepository searchRepository;
+
+    public LibrarySearchService(LibrarySearchRepository searchRepository) {
+        this.searchRepository = searchRepository;
+    }
+
+    /**
+     * Recherche dans les titres et critiques ; la page suivante commence à nextOffset
+     */
+    @Transactional(readOnly = true)
+    public LibrarySearchResponse search(String query, int offset, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return LibrarySearchResponse.empty(normalizedQuery, limit, offset);
+        }
+
+        logger.info("Recherche locale: '{}' (offset: {}, limite: {})", normalizedQuery, offset, limit);
+
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<LibrarySearchRow> rows = searchRepository.search(normalizedQuery, offset, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<LibrarySearchHit> results = (hasMore ? rows.subList(0, limit) : rows).stream()
+            .map(LibrarySearchHit::of)
+            .collect(Collectors.toList());
+
+        return new LibrarySearchResponse(normalizedQuery, limit, offset, hasMore ? offset + limit : null, results);
+    }
+
+    /**
+     * Espaces superflus retirés, longueur bornée
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = query.trim().replaceAll("\\s+", " ");
+        return normalized.length() > MAX_QUERY_LENGTH ? normalized.substring(0, MAX_QUERY_LENGTH) : normalized;
+    }
+}
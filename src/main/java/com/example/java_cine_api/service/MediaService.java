@@ -0,0 +1,451 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.dto.MediaFromTmdbInput;
+import com.example.java_cine_api.dto.MediaInput;
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.PagedResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.TmdbLookupResponse;
+import com.example.java_cine_api.dto.response.TmdbPosterView;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.example.java_cine_api.entity.Media;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.exception.ResourceNotFoundException;
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import com.example.java_cine_api.repository.MediaListFilter;
+import com.example.java_cine_api.repository.MediaRepository;
+import com.example.java_cine_api.repository.MediaViewCountRepository;
+import com.example.java_cine_api.repository.MediaWithMetadata;
+import com.example.java_cine_api.repository.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Logique commune aux films et aux séries : création, listes paginées enrichies, recherche TMDB, mise à jour.
+ * Les appels TMDB ont lieu hors transaction : seules les lectures/écritures en base (courtes) en ouvrent une,
+ * aucune connexion JDBC n'est donc retenue pendant l'attente réseau.
+ *
+ * @param <E> entité (Movie, Serie)
+ * @param <D> fiche TMDB (TmdbMovieDto, TmdbSerieDto)
+ * @param <S> résultat de recherche renvoyé au client
+ */
+public abstract class MediaService<E extends Media, D, S> {
+
+    protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+    protected final MediaRepository<E> repository;
+    protected final MediaViewCountRepository viewCountRepository;
+    protected final TmdbService tmdbService;
+    protected final TmdbMetadataService metadataService;
+    private final TitleSuggestionIndex suggestionIndex;
+    private final LibraryWrites writes;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final String resourceName;
+
+    protected MediaService(MediaRepository<E> repository,
+                           MediaViewCountRepository viewCountRepository,
+                           TmdbService tmdbService,
+                           TmdbMetadataService metadataService,
+                           TitleSuggestionIndex suggestionIndex,
+                           LibraryWrites writes,
+                           PlatformTransactionManager transactionManager,
+                           String resourceName) {
+        this.repository = repository;
+        this.viewCountRepository = viewCountRepository;
+        this.tmdbService = tmdbService;
+        this.metadataService = metadataService;
+        this.suggestionIndex = suggestionIndex;
+        this.writes = writes;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.resourceName = resourceName;
+    }
+
+    /**
+     * Nouvelle entité non persistée
+     */
+    protected abstract E newMedia(String title, Integer tmdbId, Float rating, Boolean wishlist,
+                                  String review, Integer viewCount, Boolean watched);
+
+    /**
+     * Ajoute une vue en base (UPDATE ... RETURNING sur la table du type) ; vide si l'ID n'existe pas
+     */
+    protected abstract Optional<E> incrementViewCount(Long id);
+
+    /**
+     * Fiche TMDB au niveau de détail demandé (cache puis appel HTTP)
+     */
+    protected abstract D fetchTmdbDetails(Integer tmdbId, TmdbDetailLevel level);
+
+    /**
+     * Fiche de repli quand TMDB est indisponible : dernière fiche en cache (même expirée),
+     * sinon reconstruite depuis les métadonnées locales ; null si aucune n'est connue
+     */
+    protected abstract D staleTmdbDetails(Integer tmdbId, String title);
+
+    /**
+     * Recherche TMDB jusqu'à limit résultats
+     */
+    protected abstract TmdbSearchResponseDto<D> searchTmdb(String query, int limit);
+
+    protected abstract Integer tmdbIdOf(D tmdb);
+
+    protected abstract String tmdbTitleOf(D tmdb);
+
+    /**
+     * Enregistre les métadonnées locales (poster, genres...) de la fiche TMDB
+     */
+    protected abstract void saveMetadata(D tmdb);
+
+    protected abstract S toSearchResult(D tmdb, E local);
+
+    /**
+     * Crée un nouvel élément
+     */
+    @Transactional
+    public E create(MediaInput dto) {
+        logger.info("Création ({}): {}", resourceName, dto.getTitle());
+        
+        E media = newMedia(
+            dto.getTitle(),
+            dto.getTmdbId(),
+            dto.getRating(),
+            dto.getWishlist(),
+            dto.getReview(),
+            dto.getViewCount(),
+            dto.getWatched()
+        );
+        
+        E saved = repository.save(media);
+        indexTitle(saved);
+        logger.debug("{} créé(e) avec l'ID: {}", resourceName, saved.getId());
+        return saved;
+    }
+
+    /**
+     * Crée (ou met à jour) un élément local à partir d'un tmdbId. S'il existe déjà
+     * on met simplement à jour les champs utilisateurs fournis.
+     */
+    public E createFromTmdb(MediaFromTmdbInput dto) {
+        logger.info("Création/mise à jour ({}) depuis TMDB ID: {}", resourceName, dto.getTmdbId());
+        
+        // Récupérer les détails depuis TMDB (titre et métadonnées, sans crédits), hors transaction
+        D tmdb = fetchTmdbDetails(dto.getTmdbId(), TmdbDetailLevel.SUMMARY);
+        return writeTransaction.execute(status -> saveFromTmdb(dto, tmdb));
+    }
+
+    private E saveFromTmdb(MediaFromTmdbInput dto, D tmdb) {
+        saveMetadata(tmdb);
+        
+        // Vérifier si l'élément existe déjà localement
+        E existing = repository.findByTmdbId(dto.getTmdbId()).orElse(null);
+        
+        if (existing != null) {
+            // Mettre à jour l'élément existant avec les nouvelles données utilisateur
+            logger.debug("Mise à jour de l'existant: {}", existing.getTitle());
+            applyFromTmdbInput(existing, dto);
+            E updated = repository.save(existing);
+            indexTitle(updated);
+            return updated;
+        }
+
+        String title = StringUtils.hasText(dto.getTitleOverride())
+            ? dto.getTitleOverride()
+            : tmdbTitleOf(tmdb);
+            
+        E created = newMedia(
+            title,
+            dto.getTmdbId(),
+            dto.getRating(),
+            dto.getWishlist(),
+            dto.getReview(),
+            dto.getViewCount(),
+            dto.getWatched()
+        );
+        
+        E saved = repository.save(created);
+        indexTitle(saved);
+        logger.debug("{} créé(e) depuis TMDB: {}", resourceName, saved.getTitle());
+        return saved;
+    }
+
+    /**
+     * Récupère une page (les plus récents d'abord) avec enrichissement du poster_path
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<MediaView<TmdbPosterView>> findAll(MediaListFilter filter, String after, int limit) {
+        logger.info("Récupération ({}) (filtres: {}, limite: {})", resourceName, filter, limit);
+        return findPage(filter, after, limit);
+    }
+
+    /**
+     * Récupère une page de la wishlist avec enrichissement du poster_path
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<MediaView<TmdbPosterView>> findWishlist(String after, int limit) {
+        logger.info("Récupération de la wishlist ({}) (limite: {})", resourceName, limit);
+        return findPage(MediaListFilter.wishlistOnly(), after, limit);
+    }
+
+    /**
+     * Récupère une page d'éléments notés avec enrichissement du poster_path,
+     * et le nombre total d'éléments notés (COUNT sur l'index partiel des notes)
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<MediaView<TmdbPosterView>> findRated(String after, int limit) {
+        logger.info("Récupération des éléments notés ({}) (limite: {})", resourceName, limit);
+        return findPage(MediaListFilter.ratedOnly(), after, limit).withTotal(repository.countByRatingIsNotNull());
+    }
+
+    /**
+     * Récupère un élément par son ID local, enrichi de sa fiche TMDB si disponible
+     * (fiche de repli marquée stale si TMDB est indisponible ; sur une erreur définitive, ex. fiche supprimée
+     * de TMDB, l'élément est renvoyé sans fiche)
+     */
+    public MediaView<D> findOne(Long id) {
+        logger.info("Récupération ({}) avec ID: {}", resourceName, id);
+        
+        E media = readTransaction.execute(status -> repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException(resourceName, id)));
+        
+        // Enrichir avec les données TMDB si disponibles (connexion déjà rendue au pool)
+        D tmdb = null;
+        boolean stale = false;
+        if (media.getTmdbId() != null) {
+            try {
+                tmdb = fetchTmdbDetails(media.getTmdbId(), TmdbDetailLevel.FULL);
+            } catch (TmdbUnavailableException e) {
+                logger.warn("TMDB indisponible ({} {}), repli sur la fiche locale: {}",
+                    resourceName, media.getId(), e.getMessage());
+                tmdb = staleTmdbDetails(media.getTmdbId(), media.getTitle());
+                stale = tmdb != null;
+            } catch (Exception e) {
+                logger.warn("Impossible de récupérer les détails TMDB ({} {}): {}", 
+                    resourceName, media.getId(), e.getMessage());
+            }
+        }
+        
+        return MediaView.of(media, tmdb, stale);
+    }
+
+    /**
+     * Récupère les détails TMDB et l'éventuel enregistrement local via tmdbId.
+     * Le champ `local` vaut `null` si l'élément n'existe pas en base.
+     * Si TMDB est indisponible, la fiche de repli est renvoyée avec `stale: true` (l'erreur remonte s'il n'y en a pas) ;
+     * une erreur définitive de TMDB (4xx) remonte toujours.
+     */
+    public TmdbLookupResponse<D, E> findByTmdbIdWithTmdbDetails(Integer tmdbId) {
+        logger.info("Récupération ({}) via TMDB ID: {}", resourceName, tmdbId);
+        
+        E local = readTransaction.execute(status -> repository.findByTmdbId(tmdbId).orElse(null));
+        try {
+            return new TmdbLookupResponse<>(fetchTmdbDetails(tmdbId, TmdbDetailLevel.FULL), local);
+        } catch (TmdbUnavailableException e) {
+            D stale = staleTmdbDetails(tmdbId, local != null ? local.getTitle() : null);
+            if (stale == null) {
+                throw e;
+            }
+            logger.warn("TMDB indisponible ({} TMDB {}), repli sur la fiche locale: {}",
+                resourceName, tmdbId, e.getMessage());
+            return new TmdbLookupResponse<>(stale, local, true);
+        }
+    }
+
+    /**
+     * Met à jour un élément
+     */
+    @Transactional
+    public E update(Long id, MediaInput dto) {
+        logger.info("Mise à jour ({}) avec ID: {}", resourceName, id);
+        
+        E media = repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException(resourceName, id));
+        
+        applyInput(media, dto);
+        
+        E updated = repository.save(media);
+        indexTitle(updated);
+        logger.debug("{} mis(e) à jour: {}", resourceName, updated.getTitle());
+        return updated;
+    }
+
+    /**
+     * Ajoute une vue et marque l'élément comme vu : une seule requête UPDATE ... RETURNING
+     * (ni lecture préalable ni réécriture de l'entité, compteur exact sous accès concurrents)
+     */
+    public E recordView(Long id) {
+        logger.info("Nouvelle vue ({}) avec ID: {}", resourceName, id);
+        
+        E media = incrementViewCount(id)
+            .orElseThrow(() -> new ResourceNotFoundException(resourceName, id));
+        
+        writes.record();
+        logger.debug("{} vu(e) {} fois: {}", resourceName, media.getViewCount(), media.getTitle());
+        return media;
+    }
+
+    /**
+     * Supprime un élément et ses métadonnées TMDB locales
+     */
+    @Transactional
+    public E remove(Long id) {
+        logger.info("Suppression ({}) avec ID: {}", resourceName, id);
+        
+        E media = repository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException(resourceName, id));
+        
+        repository.delete(media);
+        if (media.getTmdbId() != null) {
+            metadataService.delete(media.mediaType(), media.getTmdbId());
+        }
+        afterCommit(() -> suggestionIndex.removeLocal(media.mediaType(), media.getId()));
+        writes.record();
+        logger.debug("{} supprimé(e): {}", resourceName, media.getTitle());
+        return media;
+    }
+
+    /**
+     * Recherche via TMDB et indique si l'élément est déjà présent localement
+     */
+    public SearchResponse<S> search(String query, int limit) {
+        String trimmedQuery = query != null ? query.trim() : "";
+        
+        if (trimmedQuery.isEmpty()) {
+            return SearchResponse.empty(trimmedQuery, limit);
+        }
+        
+        logger.info("Recherche ({}) pour la requête: {} (limite: {})", resourceName, trimmedQuery, limit);
+        
+        TmdbSearchResponseDto<D> tmdbResponse = searchTmdb(trimmedQuery, limit);
+        
+        if (tmdbResponse == null || tmdbResponse.getResults() == null) {
+            return SearchResponse.empty(trimmedQuery, limit);
+        }
+        
+        List<D> limitedResults = tmdbResponse.getResults().stream()
+            .limit(limit)
+            .collect(Collectors.toList());
+        
+        List<Integer> tmdbIds = limitedResults.stream()
+            .map(this::tmdbIdOf)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        
+        var existingMap = readTransaction.execute(status -> repository.findByTmdbIdIn(tmdbIds)).stream()
+            .collect(Collectors.toMap(Media::getTmdbId, media -> media));
+        
+        List<S> results = limitedResults.stream()
+            .map(tmdb -> toSearchResult(tmdb, existingMap.get(tmdbIdOf(tmdb))))
+            .collect(Collectors.toList());
+        
+        return SearchResponse.of(trimmedQuery, limit, results);
+    }
+
+    // Méthodes utilitaires privées
+
+    /**
+     * Lit une page par clé (created_at, id) ; nextCursor vaut null sur la dernière page
+     */
+    private PagedResponse<MediaView<TmdbPosterView>> findPage(MediaListFilter filter, String after, int limit) {
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<MediaWithMetadata<E>> rows = repository.findPageWithMetadata(filter, PageCursor.decode(after), limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<MediaWithMetadata<E>> page = hasMore ? rows.subList(0, limit) : rows;
+        
+        String nextCursor = hasMore ? cursorOf(page.get(page.size() - 1).media()) : null;
+        return new PagedResponse<>(enrichPosterPath(page), limit, nextCursor);
+    }
+
+    private static String cursorOf(Media media) {
+        return new PageCursor(media.getCreatedAt(), media.getId()).encode();
+    }
+
+    /**
+     * Enrichit chaque élément avec tmdb.poster_path depuis les métadonnées locales (aucun appel TMDB)
+     */
+    private List<MediaView<TmdbPosterView>> enrichPosterPath(List<MediaWithMetadata<E>> rows) {
+        return rows.stream()
+            .map(row -> {
+                E media = row.media();
+                TmdbMetadata metadata = row.metadata();
+                TmdbPosterView tmdb = media.getTmdbId() != null && metadata != null
+                    ? new TmdbPosterView(metadata.getPosterPath())
+                    : null;
+                return MediaView.of(media, tmdb);
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Met à jour l'index de suggestions et signale l'écriture (routage primaire/réplica) une fois la transaction validée
+     */
+    private void indexTitle(E media) {
+        afterCommit(() -> suggestionIndex.putLocal(media.mediaType(), media.getId(), media.getTitle(), media.getTmdbId()));
+        writes.record();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void applyFromTmdbInput(E media, MediaFromTmdbInput dto) {
+        if (StringUtils.hasText(dto.getTitleOverride())) {
+            media.setTitle(dto.getTitleOverride());
+        }
+        applyUserFields(media, dto.getRating(), dto.getWishlist(), dto.getReview(), dto.getViewCount(), dto.getWatched());
+    }
+
+    private void applyInput(E media, MediaInput dto) {
+        if (StringUtils.hasText(dto.getTitle())) {
+            media.setTitle(dto.getTitle());
+        }
+        if (dto.getTmdbId() != null) {
+            media.setTmdbId(dto.getTmdbId());
+        }
+        applyUserFields(media, dto.getRating(), dto.getWishlist(), dto.getReview(), dto.getViewCount(), dto.getWatched());
+    }
+
+    private static void applyUserFields(Media media, Float rating, Boolean wishlist, String review,
+                                        Integer viewCount, Boolean watched) {
+        if (rating != null) {
+            media.setRating(rating);
+        }
+        if (wishlist != null) {
+            media.setWishlist(wishlist);
+        }
+        if (StringUtils.hasText(review)) {
+            media.setReview(review);
+        }
+        if (viewCount != null) {
+            media.setViewCount(viewCount);
+        }
+        if (watched != null) {
+            media.setWatched(watched);
+        }
+    }
+}
@@ -1,356 +1,75 @@
 package com.example.java_cine_api.service;
 
-import com.example.java_cine_api.dto.serie.*;
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.dto.response.SerieSearchResult;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
 import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
 import com.example.java_cine_api.entity.Serie;
-import com.example.java_cine_api.exception.ResourceNotFoundException;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.MediaViewCountRepository;
 import com.example.java_cine_api.repository.SerieRepository;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
-@Transactional
-@Slf4j
-@RequiredArgsConstructor
-public class SerieService {
-
-    private final SerieRepository serieRepository;
-    private final TmdbService tmdbService;
-
-    /**
-     * Crée une nouvelle série
-     */
-    public Serie create(CreateSerieDto dto) {
-        log.info("Création d'une nouvelle série: {}", dto.getTitle());
-        
-        Serie serie = new Serie(
-            dto.getTitle(),
-            dto.getTmdbId(),
-            dto.getRating(),
-            dto.getWishlist(),
-            dto.getReview(),
-            dto.getViewCount(),
-            dto.getWatched()
-        );
-        
-        Serie savedSerie = serieRepository.save(serie);
-        log.debug("Série créée avec l'ID: {}", savedSerie.getId());
-        return savedSerie;
-    }
-
-    /**
-     * Crée (ou met à jour) une série locale à partir d'un tmdbId. Si une série avec ce tmdbId
-     * existe déjà on met simplement à jour les champs utilisateurs fournis.
-     */
-    public Serie createFromTmdb(CreateSerieFromTmdbDto dto) {
-        log.info("Création/mise à jour d'une série depuis TMDB ID: {}", dto.getTmdbId());
-        
-        // Récupérer les détails depuis TMDB
-        TmdbSerieDto tmdbSerie = tmdbService.getSerieDetails(dto.getTmdbId());
-        
-        // Vérifier si la série existe déjà localement
-        Serie existingSerie = serieRepository.findByTmdbId(dto.getTmdbId()).orElse(null);
-        
-        if (existingSerie != null) {
-            // Mettre à jour la série existante avec les nouvelles données utilisateur
-            log.debug("Mise à jour de la série existante: {}", existingSerie.getTitle());
-            updateSerieFromDto(existingSerie, dto, tmdbSerie);
-            return serieRepository.save(existingSerie);
-        } else {
-            // Créer une nouvelle série
-            String title = StringUtils.hasText(dto.getTitleOverride()) 
-                ? dto.getTitleOverride() 
-                : tmdbSerie.getName();
-                
-            Serie newSerie = new Serie(
-                title,
-                dto.getTmdbId(),
-                dto.getRating(),
-                dto.getWishlist(),
-                dto.getReview(),
-                dto.getViewCount(),
-                dto.getWatched()
-            );
-            
-            Serie savedSerie = serieRepository.save(newSerie);
-            log.debug("Nouvelle série créée depuis TMDB: {}", savedSerie.getTitle());
-            return savedSerie;
-        }
-    }
-
-    /**
-     * Récupère toutes les séries avec enrichissement du poster_path
-     */
-    public Map<String, Object> findAll() {
-        log.info("Récupération de toutes les séries");
-        
-        List<Serie> series = serieRepository.findAllByOrderByCreatedAtDesc();
-        List<Map<String, Object>> enrichedSeries = enrichPosterPath(series);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("items", enrichedSeries);
-        return result;
+public class SerieService extends MediaService<Serie, TmdbSerieDto, SerieSearchResult> {
+
+    public SerieService(SerieRepository serieRepository, MediaViewCountRepository viewCountRepository,
+                        TmdbService tmdbService, TmdbMetadataService metadataService,
+                        TitleSuggestionIndex suggestionIndex, LibraryWrites writes,
+                        PlatformTransactionManager transactionManager) {
+        super(serieRepository, viewCountRepository, tmdbService, metadataService, suggestionIndex, writes,
+              transactionManager, "Série");
     }
 
-    /**
-     * Récupère toutes les séries en wishlist avec enrichissement du poster_path
-     */
-    public Map<String, Object> findWishlist() {
-        log.info("Récupération des séries en wishlist");
-        
-        List<Serie> series = serieRepository.findByWishlistTrue();
-        List<Map<String, Object>> enrichedSeries = enrichPosterPath(series);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("items", enrichedSeries);
-        return result;
+    @Override
+    protected Serie newMedia(String title, Integer tmdbId, Float rating, Boolean wishlist,
+                             String review, Integer viewCount, Boolean watched) {
+        return new Serie(title, tmdbId, rating, wishlist, review, viewCount, watched);
     }
 
-    /**
-     * Récupère toutes les séries notées avec enrichissement du poster_path
-     */
-    public Map<String, Object> findRated() {
-        log.info("Récupération des séries notées");
-        List<Serie> series = serieRepository.findByRatingIsNotNull();
-        List<Map<String, Object>> enriched = enrichPosterPath(series);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("items", enriched);
-        result.put("total", enriched.size());
-        return result;
+    @Override
+    protected Optional<Serie> incrementViewCount(Long id) {
+        return viewCountRepository.incrementViewCount(TmdbMediaType.SERIE, id).map(Serie.class::cast);
     }
 
-    /**
-     * Récupère une série par son ID local
-     */
-    @Transactional(readOnly = true)
-    public Map<String, Object> findOne(Long id) {
-        log.info("Récupération de la série avec ID: {}", id);
-        
-        Serie serie = serieRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Série", id));
-        
-        Map<String, Object> result = convertSerieToMap(serie);
-        
-        // Enrichir avec les données TMDB si disponibles
-        if (serie.getTmdbId() != null) {
-            try {
-                TmdbSerieDto tmdbSerie = tmdbService.getSerieDetails(serie.getTmdbId());
-                result.put("tmdb", tmdbSerie);
-            } catch (Exception e) {
-                log.warn("Impossible de récupérer les détails TMDB pour la série {}: {}", 
-                    serie.getId(), e.getMessage());
-            }
-        }
-        
-        return result;
+    @Override
+    protected TmdbSerieDto fetchTmdbDetails(Integer tmdbId, TmdbDetailLevel level) {
+        return tmdbService.getSerieDetails(tmdbId, level);
     }
 
-    /**
-     * Récupère les détails TMDB et l'éventuel enregistrement local via tmdbId.
-     * Le champ `local` vaut `null` si l'élément n'existe pas en base.
-     */
-    @Transactional(readOnly = true)
-    public Map<String, Object> findByTmdbIdWithTmdbDetails(Integer tmdbId) {
-        log.info("Récupération de la série via TMDB ID: {}", tmdbId);
-        
-        TmdbSerieDto tmdbSerie = tmdbService.getSerieDetails(tmdbId);
-        Serie localSerie = serieRepository.findByTmdbId(tmdbId).orElse(null);
-        
-        Map<String, Object> result = new HashMap<>();
-        result.put("tmdb", tmdbSerie);
-        result.put("local", localSerie);
-        return result;
+    @Override
+    protected TmdbSerieDto staleTmdbDetails(Integer tmdbId, String title) {
+        TmdbSerieDto cached = tmdbService.getStaleSerieDetails(tmdbId);
+        return cached != null ? cached : metadataService.storedSerie(tmdbId, title).orElse(null);
     }
 
-    /**
-     * Met à jour une série
-     */
-    public Serie update(Long id, UpdateSerieDto dto) {
-        log.info("Mise à jour de la série avec ID: {}", id);
-        
-        Serie serie = serieRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Série", id));
-        
-        updateSerieFromUpdateDto(serie, dto);
-        
-        Serie updatedSerie = serieRepository.save(serie);
-        log.debug("Série mise à jour: {}", updatedSerie.getTitle());
-        return updatedSerie;
+    @Override
+    protected TmdbSearchResponseDto<TmdbSerieDto> searchTmdb(String query, int limit) {
+        return tmdbService.searchSeries(query, limit);
     }
 
-    /**
-     * Supprime une série
-     */
-    public Serie remove(Long id) {
-        log.info("Suppression de la série avec ID: {}", id);
-        
-        Serie serie = serieRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Série", id));
-        
-        serieRepository.delete(serie);
-        log.debug("Série supprimée: {}", serie.getTitle());
-        return serie;
-    }
-
-    /**
-     * Recherche des séries via TMDB et indique si déjà présent localement
-     */
-    @Transactional(readOnly = true)
-    public Map<String, Object> search(String query, int limit) {
-        String trimmedQuery = query != null ? query.trim() : "";
-        
-        if (trimmedQuery.isEmpty()) {
-            return Map.of(
-                "query", trimmedQuery,
-                "limit", limit,
-                "total", 0,
-                "results", List.of()
-            );
-        }
-        
-        log.info("Recherche de séries pour la requête: {} (limite: {})", trimmedQuery, limit);
-        
-        var tmdbResponse = tmdbService.searchSeries(trimmedQuery);
-        
-        if (tmdbResponse == null || tmdbResponse.getResults() == null) {
-            return Map.of(
-                "query", trimmedQuery,
-                "limit", limit,
-                "total", 0,
-                "results", List.of()
-            );
-        }
-        
-        var limitedResults = tmdbResponse.getResults().stream()
-            .limit(limit)
-            .collect(Collectors.toList());
-        
-        var tmdbIds = limitedResults.stream()
-            .map(TmdbSerieDto::getId)
-            .filter(java.util.Objects::nonNull)
-            .collect(Collectors.toList());
-        
-        var existingSeries = serieRepository.findByTmdbIdIn(tmdbIds);
-        var existingMap = existingSeries.stream()
-            .collect(Collectors.toMap(Serie::getTmdbId, serie -> serie));
-        
-        var results = limitedResults.stream()
-            .map(tmdbSerie -> Map.of(
-                "type", "serie",
-                "tmdbId", tmdbSerie.getId(),
-                "title", tmdbSerie.getName(),
-                "poster_path", tmdbSerie.getPosterPath(),
-                "overview", tmdbSerie.getOverview(),
-                "first_air_date", tmdbSerie.getFirstAirDate(),
-                "vote_average", tmdbSerie.getVoteAverage(),
-                "local", existingMap.get(tmdbSerie.getId())
-            ))
-            .collect(Collectors.toList());
-        
-        return Map.of(
-            "query", trimmedQuery,
-            "limit", limit,
-            "total", results.size(),
-            "results", results
-        );
-    }
-
-    // Méthodes utilitaires privées
-
-    private void updateSerieFromDto(Serie serie, CreateSerieFromTmdbDto dto, TmdbSerieDto tmdbSerie) {
-        if (StringUtils.hasText(dto.getTitleOverride())) {
-            serie.setTitle(dto.getTitleOverride());
-        }
-        if (dto.getRating() != null) {
-            serie.setRating(dto.getRating());
-        }
-        if (dto.getWishlist() != null) {
-            serie.setWishlist(dto.getWishlist());
-        }
-        if (StringUtils.hasText(dto.getReview())) {
-            serie.setReview(dto.getReview());
-        }
-        if (dto.getViewCount() != null) {
-            serie.setViewCount(dto.getViewCount());
-        }
-        if (dto.getWatched() != null) {
-            serie.setWatched(dto.getWatched());
-        }
+    @Override
+    protected Integer tmdbIdOf(TmdbSerieDto tmdb) {
+        return tmdb.getId();
     }
 
-    private void updateSerieFromUpdateDto(Serie serie, UpdateSerieDto dto) {
-        if (StringUtils.hasText(dto.getTitle())) {
-            serie.setTitle(dto.getTitle());
-        }
-        if (dto.getTmdbId() != null) {
-            serie.setTmdbId(dto.getTmdbId());
-        }
-        if (dto.getRating() != null) {
-            serie.setRating(dto.getRating());
-        }
-        if (dto.getWishlist() != null) {
-            serie.setWishlist(dto.getWishlist());
-        }
-        if (StringUtils.hasText(dto.getReview())) {
-            serie.setReview(dto.getReview());
-        }
-        if (dto.getViewCount() != null) {
-            serie.setViewCount(dto.getViewCount());
-        }
-        if (dto.getWatched() != null) {
-            serie.setWatched(dto.getWatched());
-        }
+    @Override
+    protected String tmdbTitleOf(TmdbSerieDto tmdb) {
+        return tmdb.getName();
     }
 
-    private Map<String, Object> convertSerieToMap(Serie serie) {
-        return Map.of(
-            "id", serie.getId(),
-            "title", serie.getTitle(),
-            "tmdbId", serie.getTmdbId(),
-            "rating", serie.getRating(),
-            "wishlist", serie.getWishlist(),
-            "review", serie.getReview() != null ? serie.getReview() : "",
-            "viewCount", serie.getViewCount(),
-            "watched", serie.getWatched(),
-            "createdAt", serie.getCreatedAt(),
-            "updatedAt", serie.getUpdatedAt()
-        );
+    @Override
+    protected void saveMetadata(TmdbSerieDto tmdb) {
+        metadataService.saveSerie(tmdb);
     }
 
-    /**
-     * Enrichit chaque série avec tmdb.poster_path (limitation: 5 requêtes parallèles max)
-     */
-    private List<Map<String, Object>> enrichPosterPath(List<Serie> series) {
-        return series.parallelStream()
-            .map(serie -> {
-                Map<String, Object> serieMap = convertSerieToMap(serie);
-                
-                if (serie.getTmdbId() != null) {
-                    try {
-                        CompletableFuture<TmdbSerieDto> future = tmdbService.getSerieDetailsAsync(serie.getTmdbId());
-                        TmdbSerieDto tmdbDetails = future.join(); // Attendre le résultat
-                        Map<String, Object> tmdbMap = new HashMap<>();
-                        tmdbMap.put("poster_path", tmdbDetails.getPosterPath());
-                        serieMap.put("tmdb", tmdbMap);
-                    } catch (Exception e) {
-                        log.debug("Impossible d'enrichir le poster pour la série {}: {}", 
-                            serie.getId(), e.getMessage());
-                        // On continue sans poster_path
-                    }
-                }
-                
-                return serieMap;
-            })
-            .collect(Collectors.toList());
+    @Override
+    protected SerieSearchResult toSearchResult(TmdbSerieDto tmdb, Serie local) {
+        return SerieSearchResult.of(tmdb, local);
     }
 }
@@ -0,0 +1,99 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.SearchQueryNormalizer;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.response.TitleSuggestion;
+import com.example.java_cine_api.dto.tmdb.TmdbMultiDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.MediaTitle;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Saisie semi-automatique : suggestions servies par l'index mémoire des titres,
+ * recherche TMDB uniquement lorsque l'index ne connaît aucun titre correspondant
+ */
+@Service
+public class SuggestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionService.class);
+
+    private final TitleSuggestionIndex suggestionIndex;
+    private final TmdbService tmdbService;
+    private final MovieRepository movieRepository;
+    private final SerieRepository serieRepository;
+    private final int fallbackMinLength;
+
+    public SuggestionService(TitleSuggestionIndex suggestionIndex,
+                             TmdbService tmdbService,
+                             MovieRepository movieRepository,
+                             SerieRepository serieRepository,
+                             @Value("${suggest.tmdb-fallback-min-length:3}") int fallbackMinLength) {
+        this.suggestionIndex = suggestionIndex;
+        this.tmdbService = tmdbService;
+        this.movieRepository = movieRepository;
+        this.serieRepository = serieRepository;
+        this.fallbackMinLength = fallbackMinLength;
+    }
+
+    /**
+     * Charge les titres de la bibliothèque dans l'index au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadLocalTitles() {
+        List<MediaTitle> movies = movieRepository.findAllTitles();
+        movies.forEach(movie -> suggestionIndex.putLocal(TmdbMediaType.MOVIE, movie.id(), movie.title(), movie.tmdbId()));
+        List<MediaTitle> series = serieRepository.findAllTitles();
+        series.forEach(serie -> suggestionIndex.putLocal(TmdbMediaType.SERIE, serie.id(), serie.title(), serie.tmdbId()));
+        logger.info("Index de suggestions chargé: {} films, {} séries", movies.size(), series.size());
+    }
+
+    /**
+     * Suggestions de titres pour le préfixe saisi
+     */
+    public SearchResponse<TitleSuggestion> suggest(String query, int limit) {
+        String trimmedQuery = query != null ? query.trim() : "";
+        List<TitleSuggestion> suggestions = suggestionIndex.suggest(trimmedQuery, limit);
+        if (!suggestions.isEmpty()
+                || SearchQueryNormalizer.normalize(trimmedQuery).length() < fallbackMinLength) {
+            return SearchResponse.of(trimmedQuery, limit, suggestions);
+        }
+
+        // Aucun titre connu : recherche TMDB (mise en cache, et ses titres alimentent l'index)
+        logger.debug("Aucune suggestion locale pour '{}', recherche TMDB", trimmedQuery);
+        TmdbSearchResponseDto<TmdbMultiDto> tmdbResponse = tmdbService.searchMulti(trimmedQuery);
+        if (tmdbResponse == null || tmdbResponse.getResults() == null) {
+            return SearchResponse.empty(trimmedQuery, limit);
+        }
+
+        List<TitleSuggestion> fromTmdb = tmdbResponse.getResults().stream()
+            .map(SuggestionService::toSuggestion)
+            .filter(Objects::nonNull)
+            .limit(limit)
+            .toList();
+        return SearchResponse.of(trimmedQuery, limit, fromTmdb);
+    }
+
+    private static TitleSuggestion toSuggestion(TmdbMultiDto item) {
+        if ("movie".equals(item.getMediaType())) {
+            return TitleSuggestion.tmdb(TmdbMediaType.MOVIE, item.getId(), item.getTitle());
+        }
+        if ("tv".equals(item.getMediaType())) {
+            return TitleSuggestion.tmdb(TmdbMediaType.SERIE, item.getId(), item.getName());
+        }
+        return null;
+    }
+}
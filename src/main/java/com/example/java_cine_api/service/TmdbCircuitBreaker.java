@@ -0,0 +1,162 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Disjoncteur des appels HTTP TMDB :
+ * - fermé : les appels passent, le taux d'échec est suivi sur les derniers appels (fenêtre glissante)
+ * - ouvert : au-delà du seuil, les appels échouent immédiatement pendant la durée d'ouverture
+ * - semi-ouvert : quelques appels de test ; tous réussis referment le circuit, un échec le rouvre
+ * Seules les erreurs de transport et les réponses 5xx comptent comme échecs (pas les 4xx, ex. fiche introuvable).
+ */
+@Component
+public class TmdbCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TmdbCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    // Résultats des derniers appels (true = échec), en anneau
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public TmdbCircuitBreaker(@Value("${tmdb.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+                              @Value("${tmdb.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                              @Value("${tmdb.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                              @Value("${tmdb.circuit-breaker.open-duration:30s}") Duration openDuration,
+                              @Value("${tmdb.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Exécute l'appel si le circuit le permet, sinon échoue immédiatement (TmdbUnavailableException)
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquirePermission();
+        try {
+            T result = call.get();
+            onResult(false);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure(e)) {
+                onResult(true);
+            } else {
+                onIgnored();
+            }
+            throw e;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                throw new TmdbUnavailableException("TMDB temporairement indisponible, réessayez plus tard");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenStarted >= halfOpenCalls) {
+                throw new TmdbUnavailableException("TMDB temporairement indisponible, réessayez plus tard");
+            }
+            halfOpenStarted++;
+        }
+    }
+
+    private synchronized void onResult(boolean failed) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failed) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSucceeded >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                record(failed);
+                if (recordedCalls >= minimumCalls && failedCalls * 100.0 / recordedCalls >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // Appel lancé avant l'ouverture : résultat ignoré
+            }
+        }
+    }
+
+    /**
+     * Appel interrompu pour une raison étrangère à TMDB (ex. limiteur saturé) : rend le créneau de test
+     */
+    private synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenStarted > halfOpenSucceeded) {
+            halfOpenStarted--;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        logger.warn("Disjoncteur TMDB: {} -> {}", state, next);
+        state = next;
+        switch (next) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case HALF_OPEN -> {
+                halfOpenStarted = 0;
+                halfOpenSucceeded = 0;
+            }
+            case CLOSED -> {
+                recordedCalls = 0;
+                failedCalls = 0;
+                windowIndex = 0;
+            }
+        }
+    }
+
+    /**
+     * Vrai pour une indisponibilité de TMDB (transport, délai, 5xx), faux pour une erreur définitive (4xx)
+     */
+    static boolean isFailure(RuntimeException e) {
+        return e instanceof RestClientException && !(e instanceof HttpClientErrorException);
+    }
+}
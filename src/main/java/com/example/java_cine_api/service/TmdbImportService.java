@@ -0,0 +1,164 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.dto.MediaFromTmdbInput;
+import com.example.java_cine_api.dto.movie.CreateMovieFromTmdbDto;
+import com.example.java_cine_api.dto.response.ImportItemResult;
+import com.example.java_cine_api.dto.response.ImportResponse;
+import com.example.java_cine_api.dto.serie.CreateSerieFromTmdbDto;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
+import com.example.java_cine_api.entity.Media;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.repository.MediaImportRepository;
+import com.example.java_cine_api.repository.MediaRepository;
+import com.example.java_cine_api.repository.MediaUpsertRow;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en lot de films / séries depuis TMDB : détails récupérés en parallèle (via le limiteur TMDB),
+ * puis écriture en une seule transaction par lots JDBC. Le résultat est détaillé élément par élément.
+ */
+@Service
+public class TmdbImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TmdbImportService.class);
+
+    private final TmdbService tmdbService;
+    private final MovieRepository movieRepository;
+    private final SerieRepository serieRepository;
+    private final MediaImportRepository importRepository;
+    private final TitleSuggestionIndex suggestionIndex;
+    private final LibraryWrites writes;
+
+    public TmdbImportService(TmdbService tmdbService,
+                             MovieRepository movieRepository,
+                             SerieRepository serieRepository,
+                             MediaImportRepository importRepository,
+                             TitleSuggestionIndex suggestionIndex,
+                             LibraryWrites writes) {
+        this.tmdbService = tmdbService;
+        this.movieRepository = movieRepository;
+        this.serieRepository = serieRepository;
+        this.importRepository = importRepository;
+        this.suggestionIndex = suggestionIndex;
+        this.writes = writes;
+    }
+
+    /**
+     * Crée ou met à jour une liste de films à partir de leurs IDs TMDB
+     */
+    public ImportResponse importMovies(List<CreateMovieFromTmdbDto> items) {
+        logger.info("Import en lot de {} films depuis TMDB", items.size());
+        return importAll(TmdbMediaType.MOVIE, items, movieRepository,
+            tmdbId -> tmdbService.getMovieDetailsAsync(tmdbId, TmdbDetailLevel.SUMMARY),
+            TmdbMovieDto::getTitle,
+            TmdbMetadataService::movieMetadata);
+    }
+
+    /**
+     * Crée ou met à jour une liste de séries à partir de leurs IDs TMDB
+     */
+    public ImportResponse importSeries(List<CreateSerieFromTmdbDto> items) {
+        logger.info("Import en lot de {} séries depuis TMDB", items.size());
+        return importAll(TmdbMediaType.SERIE, items, serieRepository,
+            tmdbId -> tmdbService.getSerieDetailsAsync(tmdbId, TmdbDetailLevel.SUMMARY),
+            TmdbSerieDto::getName,
+            TmdbMetadataService::serieMetadata);
+    }
+
+    private <T> ImportResponse importAll(TmdbMediaType mediaType,
+                                         List<? extends MediaFromTmdbInput> items,
+                                         MediaRepository<?> repository,
+                                         Function<Integer, CompletableFuture<T>> fetcher,
+                                         Function<T, String> titleOf,
+                                         Function<T, TmdbMetadata> metadataOf) {
+        List<MediaUpsertRow> requests = items.stream()
+            .map(dto -> new MediaUpsertRow(dto.getTmdbId(), null, dto.getTitleOverride(), dto.getRating(),
+                dto.getWishlist(), dto.getReview(), dto.getViewCount(), dto.getWatched()))
+            .collect(Collectors.toList());
+        ImportItemResult[] results = new ImportItemResult[requests.size()];
+
+        // Un même tmdbId n'est traité qu'une fois (première occurrence)
+        Map<Integer, MediaUpsertRow> unique = new LinkedHashMap<>();
+        Map<Integer, Integer> positionByTmdbId = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            MediaUpsertRow request = requests.get(i);
+            if (unique.putIfAbsent(request.tmdbId(), request) == null) {
+                positionByTmdbId.put(request.tmdbId(), i);
+            } else {
+                results[i] = ImportItemResult.ignored(request.tmdbId(), "ID TMDB en double dans le lot");
+            }
+        }
+
+        Set<Integer> existing = repository.findByTmdbIdIn(new ArrayList<>(unique.keySet())).stream()
+            .map(Media::getTmdbId)
+            .collect(Collectors.toSet());
+
+        // Détails TMDB en parallèle, bornés par le limiteur (et servis par le cache si présents)
+        Map<Integer, CompletableFuture<T>> details = new LinkedHashMap<>();
+        unique.keySet().forEach(tmdbId -> details.put(tmdbId, fetcher.apply(tmdbId)));
+        CompletableFuture.allOf(details.values().toArray(CompletableFuture[]::new))
+            .exceptionally(e -> null)
+            .join();
+
+        List<MediaUpsertRow> rows = new ArrayList<>(unique.size());
+        List<TmdbMetadata> metadata = new ArrayList<>(unique.size());
+        for (MediaUpsertRow request : unique.values()) {
+            int position = positionByTmdbId.get(request.tmdbId());
+            T tmdb;
+            try {
+                tmdb = details.get(request.tmdbId()).join();
+            } catch (CompletionException e) {
+                String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                logger.warn("Import TMDB {} {} impossible: {}", mediaType, request.tmdbId(), message);
+                results[position] = ImportItemResult.failed(request.tmdbId(), message);
+                continue;
+            }
+
+            String title = StringUtils.hasText(request.titleOverride()) ? request.titleOverride() : titleOf.apply(tmdb);
+            if (!StringUtils.hasText(title)) {
+                results[position] = ImportItemResult.failed(request.tmdbId(), "Titre TMDB introuvable");
+                continue;
+            }
+
+            rows.add(new MediaUpsertRow(request.tmdbId(), title, request.titleOverride(), request.rating(),
+                request.wishlist(), request.review(), request.viewCount(), request.watched()));
+            metadata.add(metadataOf.apply(tmdb));
+            String status = existing.contains(request.tmdbId()) ? ImportItemResult.UPDATED : ImportItemResult.CREATED;
+            results[position] = ImportItemResult.success(request.tmdbId(), status, title);
+        }
+
+        if (!rows.isEmpty()) {
+            importRepository.upsertAll(mediaType, rows, metadata);
+            writes.record();
+            // Les IDs locaux ne sont pas relus : titres suggérés comme fiches TMDB jusqu'au prochain chargement de l'index
+            rows.forEach(row -> suggestionIndex.putTmdb(mediaType, row.tmdbId(), row.title()));
+        }
+
+        ImportResponse response = ImportResponse.of(Arrays.asList(results));
+        logger.info("Import TMDB {} terminé: {} créés, {} mis à jour, {} en échec",
+            mediaType, response.created(), response.updated(), response.failed());
+        return response;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import com.example.java_cine_api.repository.TmdbMetadataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintient la copie locale des métadonnées TMDB (poster, genres, durée...) utilisée par les listes
+ */
+@Service
+public class TmdbMetadataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TmdbMetadataService.class);
+
+    private final TmdbMetadataRepository metadataRepository;
+    private final MovieRepository movieRepository;
+    private final SerieRepository serieRepository;
+    private final TmdbService tmdbService;
+    private final LibraryWrites writes;
+    private final TransactionTemplate writeTransaction;
+    private final Duration maxAge;
+    private final int batchSize;
+
+    public TmdbMetadataService(TmdbMetadataRepository metadataRepository,
+                               MovieRepository movieRepository,
+                               SerieRepository serieRepository,
+                               TmdbService tmdbService,
+                               LibraryWrites writes,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${tmdb.metadata.max-age:7d}") Duration maxAge,
+                               @Value("${tmdb.metadata.refresh-batch-size:200}") int batchSize) {
+        this.metadataRepository = metadataRepository;
+        this.movieRepository = movieRepository;
+        this.serieRepository = serieRepository;
+        this.tmdbService = tmdbService;
+        this.writes = writes;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Enregistre (ou met à jour) les métadonnées locales d'un film TMDB
+     */
+    @Transactional
+    public TmdbMetadata saveMovie(TmdbMovieDto dto) {
+        TmdbMetadata metadata = findOrCreate(TmdbMediaType.MOVIE, dto.getId());
+        copyMovie(metadata, dto);
+        writes.record();
+        return metadataRepository.save(metadata);
+    }
+
+    /**
+     * Enregistre (ou met à jour) les métadonnées locales d'une série TMDB
+     */
+    @Transactional
+    public TmdbMetadata saveSerie(TmdbSerieDto dto) {
+        TmdbMetadata metadata = findOrCreate(TmdbMediaType.SERIE, dto.getId());
+        copySerie(metadata, dto);
+        writes.record();
+        return metadataRepository.save(metadata);
+    }
+
+    /**
+     * Supprime les métadonnées d'un média retiré de la bibliothèque
+     */
+    @Transactional
+    public void delete(TmdbMediaType mediaType, Integer tmdbId) {
+        metadataRepository.deleteByMediaTypeAndTmdbId(mediaType, tmdbId);
+    }
+
+    /**
+     * Fiche film reconstruite depuis les métadonnées locales (mode dégradé quand TMDB est indisponible)
+     */
+    @Transactional(readOnly = true)
+    public Optional<TmdbMovieDto> storedMovie(Integer tmdbId, String title) {
+        return metadataRepository.findByMediaTypeAndTmdbId(TmdbMediaType.MOVIE, tmdbId).map(metadata -> {
+            TmdbMovieDto dto = new TmdbMovieDto();
+            dto.setId(tmdbId);
+            dto.setTitle(title);
+            dto.setPosterPath(metadata.getPosterPath());
+            dto.setBackdropPath(metadata.getBackdropPath());
+            dto.setGenres(splitGenres(metadata.getGenres()));
+            dto.setRuntime(metadata.getRuntime());
+            dto.setVoteAverage(metadata.getVoteAverage());
+            dto.setReleaseDate(metadata.getReleaseDate());
+            return dto;
+        });
+    }
+
+    /**
+     * Fiche série reconstruite depuis les métadonnées locales (mode dégradé quand TMDB est indisponible)
+     */
+    @Transactional(readOnly = true)
+    public Optional<TmdbSerieDto> storedSerie(Integer tmdbId, String name) {
+        return metadataRepository.findByMediaTypeAndTmdbId(TmdbMediaType.SERIE, tmdbId).map(metadata -> {
+            TmdbSerieDto dto = new TmdbSerieDto();
+            dto.setId(tmdbId);
+            dto.setName(name);
+            dto.setPosterPath(metadata.getPosterPath());
+            dto.setBackdropPath(metadata.getBackdropPath());
+            dto.setGenres(splitGenres(metadata.getGenres()));
+            dto.setEpisodeRunTime(metadata.getRuntime() != null ? List.of(metadata.getRuntime()) : null);
+            dto.setVoteAverage(metadata.getVoteAverage());
+            dto.setFirstAirDate(metadata.getReleaseDate());
+            return dto;
+        });
+    }
+
+    /**
+     * Tâche de fond : récupère les métadonnées manquantes et rafraîchit les plus anciennes.
+     * Chaque fiche est enregistrée dans sa propre transaction (TransactionTemplate : l'appel interne
+     * this.saveMovie ne passe pas par le proxy et ignorerait @Transactional), ouverte une fois la réponse TMDB reçue.
+     */
+    @Scheduled(initialDelayString = "${tmdb.metadata.initial-delay:1m}",
+               fixedDelayString = "${tmdb.metadata.refresh-interval:1h}")
+    public void refresh() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(maxAge);
+
+        Set<Integer> movieIds = new LinkedHashSet<>(movieRepository.findTmdbIdsWithoutMetadata(PageRequest.of(0, batchSize)));
+        movieIds.addAll(metadataRepository.findStaleTmdbIds(TmdbMediaType.MOVIE, staleBefore, PageRequest.of(0, batchSize)));
+        refreshAll("films", movieIds, id -> tmdbService.getMovieDetailsAsync(id, TmdbDetailLevel.SUMMARY)
+            .thenAccept(dto -> writeTransaction.executeWithoutResult(status -> saveMovie(dto))));
+
+        Set<Integer> serieIds = new LinkedHashSet<>(serieRepository.findTmdbIdsWithoutMetadata(PageRequest.of(0, batchSize)));
+        serieIds.addAll(metadataRepository.findStaleTmdbIds(TmdbMediaType.SERIE, staleBefore, PageRequest.of(0, batchSize)));
+        refreshAll("séries", serieIds, id -> tmdbService.getSerieDetailsAsync(id, TmdbDetailLevel.SUMMARY)
+            .thenAccept(dto -> writeTransaction.executeWithoutResult(status -> saveSerie(dto))));
+    }
+
+    private void refreshAll(String label, Set<Integer> tmdbIds, Function<Integer, CompletableFuture<Void>> refresher) {
+        if (tmdbIds.isEmpty()) {
+            return;
+        }
+        logger.info("Rafraîchissement des métadonnées TMDB de {} {}", tmdbIds.size(), label);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tmdbIds.size());
+        for (Integer tmdbId : tmdbIds) {
+            futures.add(refresher.apply(tmdbId).exceptionally(e -> {
+                logger.warn("Impossible de rafraîchir les métadonnées TMDB {} ({}): {}", tmdbId, label, e.getMessage());
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Métadonnées d'un film TMDB, non persistées (utilisées par l'import en lot)
+     */
+    static TmdbMetadata movieMetadata(TmdbMovieDto dto) {
+        TmdbMetadata metadata = new TmdbMetadata(TmdbMediaType.MOVIE, dto.getId());
+        copyMovie(metadata, dto);
+        return metadata;
+    }
+
+    /**
+     * Métadonnées d'une série TMDB, non persistées (utilisées par l'import en lot)
+     */
+    static TmdbMetadata serieMetadata(TmdbSerieDto dto) {
+        TmdbMetadata metadata = new TmdbMetadata(TmdbMediaType.SERIE, dto.getId());
+        copySerie(metadata, dto);
+        return metadata;
+    }
+
+    private static void copyMovie(TmdbMetadata metadata, TmdbMovieDto dto) {
+        metadata.setPosterPath(dto.getPosterPath());
+        metadata.setBackdropPath(dto.getBackdropPath());
+        metadata.setGenres(joinGenres(dto.getGenres()));
+        metadata.setRuntime(dto.getRuntime());
+        metadata.setVoteAverage(dto.getVoteAverage());
+        metadata.setReleaseDate(dto.getReleaseDate());
+        metadata.setFetchedAt(LocalDateTime.now());
+    }
+
+    private static void copySerie(TmdbMetadata metadata, TmdbSerieDto dto) {
+        metadata.setPosterPath(dto.getPosterPath());
+        metadata.setBackdropPath(dto.getBackdropPath());
+        metadata.setGenres(joinGenres(dto.getGenres()));
+        metadata.setRuntime(dto.getEpisodeRunTime() != null && !dto.getEpisodeRunTime().isEmpty()
+                ? dto.getEpisodeRunTime().get(0)
+                : null);
+        metadata.setVoteAverage(dto.getVoteAverage());
+        metadata.setReleaseDate(dto.getFirstAirDate());
+        metadata.setFetchedAt(LocalDateTime.now());
+    }
+
+    private TmdbMetadata findOrCreate(TmdbMediaType mediaType, Integer tmdbId) {
+        return metadataRepository.findByMediaTypeAndTmdbId(mediaType, tmdbId)
+                .orElseGet(() -> new TmdbMetadata(mediaType, tmdbId));
+    }
+
+    private static String joinGenres(List<TmdbMovieDto.GenreDto> genres) {
+        if (genres == null || genres.isEmpty()) {
+            return null;
+        }
+        return genres.stream()
+                .map(TmdbMovieDto.GenreDto::getName)
+                .collect(Collectors.joining(","));
+    }
+
+    private static List<TmdbMovieDto.GenreDto> splitGenres(String genres) {
+        if (genres == null || genres.isEmpty()) {
+            return List.of();
+        }
+        // Seuls les noms sont conservés localement
+        return Arrays.stream(genres.split(","))
+                .map(name -> new TmdbMovieDto.GenreDto(null, name))
+                .toList();
+    }
+}
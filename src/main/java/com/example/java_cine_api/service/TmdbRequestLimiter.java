@@ -0,0 +1,145 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Encadre tous les appels HTTP vers TMDB :
+ * - sémaphore limitant le nombre de requêtes simultanées (synchrones et asynchrones confondues)
+ * - seau à jetons respectant le débit autorisé par TMDB
+ * - pool dédié aux appels asynchrones, dimensionné sur la concurrence max (le pool commun n'est jamais bloqué)
+ */
+@Component
+public class TmdbRequestLimiter {
+
+    private final int maxConcurrency;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutNanos;
+    private final ThreadPoolExecutor executor;
+
+    // Attente cumulée (jeton + créneau) des appels ayant obtenu un créneau
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitedNanos = new LongAdder();
+
+    // Seau à jetons (réservation anticipée : le solde peut devenir négatif)
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public TmdbRequestLimiter(@Value("${tmdb.client.max-concurrency:10}") int maxConcurrency,
+                              @Value("${tmdb.client.rate-per-second:40}") double ratePerSecond,
+                              @Value("${tmdb.client.burst:40}") int burst,
+                              @Value("${tmdb.client.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.inFlight = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("tmdb-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Exécute un appel TMDB dans le thread courant en respectant débit et concurrence
+     */
+    public <T> T execute(Supplier<T> call) {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeoutNanos;
+        awaitToken(deadline);
+        try {
+            if (!inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TmdbUnavailableException("Trop de requêtes TMDB simultanées, réessayez plus tard");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TmdbUnavailableException("Appel TMDB interrompu", e);
+        }
+        acquired.increment();
+        waitedNanos.add(System.nanoTime() - start);
+        try {
+            return call.get();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Exécute un appel TMDB sur le pool dédié
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    /**
+     * Nombre de tâches asynchrones en attente d'un thread du pool
+     */
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Nombre de requêtes TMDB en cours
+     */
+    public int inFlightRequests() {
+        return maxConcurrency - inFlight.availablePermits();
+    }
+
+    /**
+     * Nombre d'appels ayant obtenu un créneau
+     */
+    public long acquiredCount() {
+        return acquired.sum();
+    }
+
+    /**
+     * Attente cumulée (en nanosecondes) avant l'obtention d'un créneau
+     */
+    public long totalWaitNanos() {
+        return waitedNanos.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void awaitToken(long deadline) {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            if (tokens < 1 && now + (long) ((1 - tokens) / tokensPerNano) > deadline) {
+                throw new TmdbUnavailableException("Limite de débit TMDB atteinte, réessayez plus tard");
+            }
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / tokensPerNano);
+        }
+        long wakeUp = System.nanoTime() + waitNanos;
+        long remaining;
+        while ((remaining = wakeUp - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new TmdbUnavailableException("Appel TMDB interrompu");
+            }
+        }
+    }
+}
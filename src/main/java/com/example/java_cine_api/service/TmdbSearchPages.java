@@ -0,0 +1,114 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Pages d'une recherche TMDB : la première est déjà chargée, les suivantes sont en cours de chargement en parallèle.
+ * Les résultats sont restitués dans l'ordre des pages, dès que chaque page est disponible.
+ * Pour une recherche filtrée après coup (multi, sans les personnes), une page compte moins de résultats que prévu :
+ * d'autres pages sont alors chargées une à une (morePages) tant qu'il en manque, jusqu'à lastPage.
+ */
+public final class TmdbSearchPages<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TmdbSearchPages.class);
+
+    private final TmdbSearchResponseDto<T> firstPage;
+    private final List<CompletableFuture<TmdbSearchResponseDto<T>>> nextPages;
+    private final IntFunction<CompletableFuture<TmdbSearchResponseDto<T>>> morePages;
+    private final int lastPage;
+
+    TmdbSearchPages(TmdbSearchResponseDto<T> firstPage, List<CompletableFuture<TmdbSearchResponseDto<T>>> nextPages) {
+        this(firstPage, nextPages, null, 0);
+    }
+
+    TmdbSearchPages(TmdbSearchResponseDto<T> firstPage, List<CompletableFuture<TmdbSearchResponseDto<T>>> nextPages,
+                    IntFunction<CompletableFuture<TmdbSearchResponseDto<T>>> morePages, int lastPage) {
+        this.firstPage = firstPage;
+        this.nextPages = nextPages;
+        this.morePages = morePages;
+        this.lastPage = lastPage;
+    }
+
+    /**
+     * Transmet au plus limit résultats dans l'ordre, page par page ; les pages restantes sont abandonnées.
+     * Une page suivante en échec termine la recherche avec les résultats déjà transmis.
+     */
+    public void forEach(int limit, Consumer<? super T> action) {
+        int emitted = emit(firstPage, limit, action);
+        int index = 0;
+        boolean failed = false;
+        for (; index < nextPages.size() && emitted < limit; index++) {
+            TmdbSearchResponseDto<T> page;
+            try {
+                page = nextPages.get(index).join();
+            } catch (CompletionException e) {
+                warnUnavailable(index + 2, e);
+                failed = true;
+                break;
+            }
+            emitted += emit(page, limit - emitted, action);
+        }
+        // Les pages déjà chargées restent en cache, les autres ne sont plus attendues
+        nextPages.subList(Math.min(index, nextPages.size()), nextPages.size()).forEach(page -> page.cancel(false));
+
+        if (morePages == null || failed) {
+            return;
+        }
+        for (int pageNumber = nextPages.size() + 2; emitted < limit && pageNumber <= lastPage; pageNumber++) {
+            try {
+                emitted += emit(morePages.apply(pageNumber).join(), limit - emitted, action);
+            } catch (CompletionException e) {
+                warnUnavailable(pageNumber, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Au plus limit résultats, dans l'ordre des pages
+     */
+    public List<T> collect(int limit) {
+        List<T> results = new ArrayList<>(limit);
+        forEach(limit, results::add);
+        return results;
+    }
+
+    /**
+     * Réponse fusionnée : au plus limit résultats et les totaux annoncés par TMDB
+     */
+    public TmdbSearchResponseDto<T> merge(int limit) {
+        if (firstPage == null) {
+            return null;
+        }
+        return new TmdbSearchResponseDto<>(1, collect(limit), firstPage.getTotalPages(), firstPage.getTotalResults());
+    }
+
+    private static void warnUnavailable(int pageNumber, CompletionException e) {
+        logger.warn("Page {} de la recherche TMDB indisponible: {}", pageNumber,
+            e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+    }
+
+    private static <T> int emit(TmdbSearchResponseDto<T> page, int limit, Consumer<? super T> action) {
+        if (page == null || page.getResults() == null) {
+            return 0;
+        }
+        int count = 0;
+        for (T result : page.getResults()) {
+            if (count >= limit) {
+                break;
+            }
+            action.accept(result);
+            count++;
+        }
+        return count;
+    }
+}
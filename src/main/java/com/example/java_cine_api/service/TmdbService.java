@@ -1,7 +1,17 @@
 package com.example.java_cine_api.service;
 
+import com.example.java_cine_api.cache.SingleFlight;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.cache.TmdbCacheKey;
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.cache.TmdbSearchKey;
 import com.example.java_cine_api.dto.tmdb.*;
+import com.example.java_cine_api.entity.TmdbMediaType;
 import com.example.java_cine_api.exception.TmdbApiException;
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,35 +23,91 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 @Service
 public class TmdbService {
 
     private static final Logger logger = LoggerFactory.getLogger(TmdbService.class);
 
+    // Nombre de résultats par page de recherche TMDB
+    static final int SEARCH_PAGE_SIZE = 20;
+    // Recherche multi : pages chargées au plus pour compléter les résultats une fois les personnes retirées
+    static final int MULTI_SEARCH_MAX_PAGES = 10;
+
     private final RestTemplate restTemplate;
+    private final TmdbDetailsCache detailsCache;
+    private final TmdbSearchCache searchCache;
+    private final TitleSuggestionIndex suggestionIndex;
+    private final TmdbRequestLimiter requestLimiter;
+    private final TmdbCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
     private final String tmdbBaseUrl;
-    private final Executor executor = Executors.newFixedThreadPool(10);
+    private final String language;
+    private final int maxCast;
+
+    // Appels de détails en cours, partagés entre appelants concurrents d'une même clé
+    private final SingleFlight<TmdbCacheKey, TmdbMovieDto> movieFlights = new SingleFlight<>();
+    private final SingleFlight<TmdbCacheKey, TmdbSerieDto> serieFlights = new SingleFlight<>();
 
-    public TmdbService(RestTemplate restTemplate, @Value("${tmdb.base.url}") String tmdbBaseUrl) {
+    public TmdbService(RestTemplate restTemplate,
+                       TmdbDetailsCache detailsCache,
+                       TmdbSearchCache searchCache,
+                       TitleSuggestionIndex suggestionIndex,
+                       TmdbRequestLimiter requestLimiter,
+                       TmdbCircuitBreaker circuitBreaker,
+                       MeterRegistry meterRegistry,
+                       @Value("${tmdb.base.url}") String tmdbBaseUrl,
+                       @Value("${tmdb.language:fr-FR}") String language,
+                       @Value("${tmdb.details.max-cast:20}") int maxCast) {
         this.restTemplate = restTemplate;
+        this.detailsCache = detailsCache;
+        this.searchCache = searchCache;
+        this.suggestionIndex = suggestionIndex;
+        this.requestLimiter = requestLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
         this.tmdbBaseUrl = tmdbBaseUrl;
+        this.language = language;
+        this.maxCast = maxCast;
     }
 
     /**
-     * Recherche des films dans la base TMDB
+     * Recherche des films dans la base TMDB (première page, servie depuis le cache si la même requête normalisée est récente)
      */
     public TmdbSearchResponseDto<TmdbMovieDto> searchMovies(String query) {
+        return searchPage(TmdbSearchKey.MOVIE, query, 1, this::fetchMovieSearch);
+    }
+
+    /**
+     * Recherche des films jusqu'à limit résultats (pages nécessaires chargées en parallèle)
+     */
+    public TmdbSearchResponseDto<TmdbMovieDto> searchMovies(String query, int limit) {
+        return searchMoviePages(query, limit).merge(limit);
+    }
+
+    /**
+     * Pages de recherche de films nécessaires pour atteindre limit résultats
+     */
+    public TmdbSearchPages<TmdbMovieDto> searchMoviePages(String query, int limit) {
+        return searchPages(TmdbSearchKey.MOVIE, query, limit, this::fetchMovieSearch);
+    }
+
+    /**
+     * Appel HTTP TMDB pour la recherche de films
+     */
+    private TmdbSearchResponseDto<TmdbMovieDto> fetchMovieSearch(String query, int page) {
         logger.info("Recherche de films pour la requête: {}", query);
         
         String url = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
                 .path("/search/movie")
                 .queryParam("query", query)
-                .queryParam("language", "fr-FR")
+                .queryParam("language", language)
+                .queryParam("page", page)
                 .toUriString();
 
         try {
@@ -49,9 +115,13 @@ public class TmdbService {
                 new ParameterizedTypeReference<TmdbSearchResponseDto<TmdbMovieDto>>() {};
             
             ResponseEntity<TmdbSearchResponseDto<TmdbMovieDto>> responseEntity = 
-                restTemplate.exchange(url, HttpMethod.GET, null, typeRef);
+                callTmdb("search/movie", () -> restTemplate.exchange(url, HttpMethod.GET, null, typeRef));
             
             TmdbSearchResponseDto<TmdbMovieDto> response = responseEntity.getBody();
+            if (response != null && response.getResults() != null) {
+                response.getResults().forEach(movie ->
+                    suggestionIndex.putTmdb(TmdbMediaType.MOVIE, movie.getId(), movie.getTitle()));
+            }
             logger.debug("Trouvé {} films pour la requête '{}'", 
                 response != null ? response.getResults().size() : 0, query);
             return response;
@@ -62,15 +132,37 @@ public class TmdbService {
     }
 
     /**
-     * Recherche des séries dans la base TMDB
+     * Recherche des séries dans la base TMDB (première page, servie depuis le cache si la même requête normalisée est récente)
      */
     public TmdbSearchResponseDto<TmdbSerieDto> searchSeries(String query) {
+        return searchPage(TmdbSearchKey.SERIE, query, 1, this::fetchSerieSearch);
+    }
+
+    /**
+     * Recherche des séries jusqu'à limit résultats (pages nécessaires chargées en parallèle)
+     */
+    public TmdbSearchResponseDto<TmdbSerieDto> searchSeries(String query, int limit) {
+        return searchSeriePages(query, limit).merge(limit);
+    }
+
+    /**
+     * Pages de recherche de séries nécessaires pour atteindre limit résultats
+     */
+    public TmdbSearchPages<TmdbSerieDto> searchSeriePages(String query, int limit) {
+        return searchPages(TmdbSearchKey.SERIE, query, limit, this::fetchSerieSearch);
+    }
+
+    /**
+     * Appel HTTP TMDB pour la recherche de séries
+     */
+    private TmdbSearchResponseDto<TmdbSerieDto> fetchSerieSearch(String query, int page) {
         logger.info("Recherche de séries pour la requête: {}", query);
         
         String url = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
                 .path("/search/tv")
                 .queryParam("query", query)
-                .queryParam("language", "fr-FR")
+                .queryParam("language", language)
+                .queryParam("page", page)
                 .toUriString();
 
         try {
@@ -78,9 +170,13 @@ public class TmdbService {
                 new ParameterizedTypeReference<TmdbSearchResponseDto<TmdbSerieDto>>() {};
             
             ResponseEntity<TmdbSearchResponseDto<TmdbSerieDto>> responseEntity = 
-                restTemplate.exchange(url, HttpMethod.GET, null, typeRef);
+                callTmdb("search/tv", () -> restTemplate.exchange(url, HttpMethod.GET, null, typeRef));
             
             TmdbSearchResponseDto<TmdbSerieDto> response = responseEntity.getBody();
+            if (response != null && response.getResults() != null) {
+                response.getResults().forEach(serie ->
+                    suggestionIndex.putTmdb(TmdbMediaType.SERIE, serie.getId(), serie.getName()));
+            }
             logger.debug("Trouvé {} séries pour la requête '{}'", 
                 response != null ? response.getResults().size() : 0, query);
             return response;
@@ -91,15 +187,38 @@ public class TmdbService {
     }
 
     /**
-     * Recherche multi (films + séries + personnes) et filtre pour ne garder que films/séries
+     * Recherche multi (films + séries + personnes) et filtre pour ne garder que films/séries (mise en cache comme les autres recherches)
      */
     public TmdbSearchResponseDto<TmdbMultiDto> searchMulti(String query) {
+        return searchPage(TmdbSearchKey.MULTI, query, 1, this::fetchMultiSearch);
+    }
+
+    /**
+     * Recherche multi jusqu'à limit résultats (pages nécessaires chargées en parallèle)
+     */
+    public TmdbSearchResponseDto<TmdbMultiDto> searchMulti(String query, int limit) {
+        return searchMultiPages(query, limit).merge(limit);
+    }
+
+    /**
+     * Pages de recherche multi nécessaires pour atteindre limit résultats : les personnes étant retirées de chaque page,
+     * des pages supplémentaires sont chargées tant qu'il manque des résultats (dans la limite de MULTI_SEARCH_MAX_PAGES)
+     */
+    public TmdbSearchPages<TmdbMultiDto> searchMultiPages(String query, int limit) {
+        return searchPages(TmdbSearchKey.MULTI, query, limit, this::fetchMultiSearch, MULTI_SEARCH_MAX_PAGES);
+    }
+
+    /**
+     * Appel HTTP TMDB pour la recherche multi
+     */
+    private TmdbSearchResponseDto<TmdbMultiDto> fetchMultiSearch(String query, int page) {
         logger.info("Recherche multi pour la requête: {}", query);
         
         String url = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
                 .path("/search/multi")
                 .queryParam("query", query)
-                .queryParam("language", "fr-FR")
+                .queryParam("language", language)
+                .queryParam("page", page)
                 .toUriString();
 
         try {
@@ -107,7 +226,7 @@ public class TmdbService {
                 new ParameterizedTypeReference<TmdbSearchResponseDto<TmdbMultiDto>>() {};
             
             ResponseEntity<TmdbSearchResponseDto<TmdbMultiDto>> responseEntity = 
-                restTemplate.exchange(url, HttpMethod.GET, null, typeRef);
+                callTmdb("search/multi", () -> restTemplate.exchange(url, HttpMethod.GET, null, typeRef));
             
             TmdbSearchResponseDto<TmdbMultiDto> response = responseEntity.getBody();
             
@@ -117,6 +236,14 @@ public class TmdbService {
                     .filter(item -> "movie".equals(item.getMediaType()) || "tv".equals(item.getMediaType()))
                     .toList();
                 response.setResults(filteredResults);
+                // Titres vus conservés pour la saisie semi-automatique
+                filteredResults.forEach(item -> {
+                    if ("movie".equals(item.getMediaType())) {
+                        suggestionIndex.putTmdb(TmdbMediaType.MOVIE, item.getId(), item.getTitle());
+                    } else {
+                        suggestionIndex.putTmdb(TmdbMediaType.SERIE, item.getId(), item.getName());
+                    }
+                });
             }
             
             logger.debug("Trouvé {} éléments multi pour la requête '{}'", 
@@ -128,69 +255,224 @@ public class TmdbService {
         }
     }
 
+    private <T> TmdbSearchPages<T> searchPages(String searchType, String query, int limit,
+                                                BiFunction<String, Integer, TmdbSearchResponseDto<T>> fetcher) {
+        return searchPages(searchType, query, limit, fetcher, 0);
+    }
+
     /**
-     * Récupère les détails complets d'un film TMDB
+     * Charge la page 1 (qui donne le nombre total de pages) puis lance en parallèle, sur le pool TMDB,
+     * les pages suivantes nécessaires pour atteindre limit. Chaque page passe par le cache des recherches.
+     * maxPages > 0 : résultats filtrés par fetcher (moins de SEARCH_PAGE_SIZE par page), les pages suivantes
+     * sont chargées à la demande jusqu'à la dernière page TMDB, sans dépasser maxPages.
      */
-    public TmdbMovieDto getMovieDetails(Integer tmdbId) {
+    private <T> TmdbSearchPages<T> searchPages(String searchType, String query, int limit,
+                                                BiFunction<String, Integer, TmdbSearchResponseDto<T>> fetcher,
+                                                int maxPages) {
+        TmdbSearchResponseDto<T> firstPage = searchPage(searchType, query, 1, fetcher);
+        int wantedPages = (limit + SEARCH_PAGE_SIZE - 1) / SEARCH_PAGE_SIZE;
+        int totalPages = firstPage != null && firstPage.getTotalPages() != null ? firstPage.getTotalPages() : 1;
+
+        List<CompletableFuture<TmdbSearchResponseDto<T>>> nextPages = new ArrayList<>();
+        for (int page = 2; page <= Math.min(wantedPages, totalPages); page++) {
+            int pageNumber = page;
+            nextPages.add(requestLimiter.submit(() -> searchPage(searchType, query, pageNumber, fetcher)));
+        }
+        if (maxPages <= 0) {
+            return new TmdbSearchPages<>(firstPage, nextPages);
+        }
+        return new TmdbSearchPages<>(firstPage, nextPages,
+                pageNumber -> requestLimiter.submit(() -> searchPage(searchType, query, pageNumber, fetcher)),
+                Math.min(totalPages, maxPages));
+    }
+
+    private <T> TmdbSearchResponseDto<T> searchPage(String searchType, String query, int page,
+                                                    BiFunction<String, Integer, TmdbSearchResponseDto<T>> fetcher) {
+        return searchCache.get(TmdbSearchKey.of(searchType, query, language, page), key -> fetcher.apply(query, key.page()));
+    }
+
+    /**
+     * Récupère les détails d'un film TMDB au niveau demandé (servis depuis le cache si présents,
+     * un seul appel HTTP pour des demandes simultanées du même film)
+     */
+    public TmdbMovieDto getMovieDetails(Integer tmdbId, TmdbDetailLevel level) {
+        TmdbCacheKey key = TmdbCacheKey.movie(tmdbId, language, level);
+        TmdbMovieDto cached = detailsCache.peekMovie(key);
+        if (cached != null) {
+            return cached;
+        }
+        return movieFlights.execute(key, () -> loadMovieDetails(key));
+    }
+
+    /**
+     * Récupère les détails d'une série TMDB au niveau demandé (servis depuis le cache si présents,
+     * un seul appel HTTP pour des demandes simultanées de la même série)
+     */
+    public TmdbSerieDto getSerieDetails(Integer tmdbId, TmdbDetailLevel level) {
+        TmdbCacheKey key = TmdbCacheKey.serie(tmdbId, language, level);
+        TmdbSerieDto cached = detailsCache.peekSerie(key);
+        if (cached != null) {
+            return cached;
+        }
+        return serieFlights.execute(key, () -> loadSerieDetails(key));
+    }
+
+    /**
+     * Dernière fiche film connue (éventuellement périmée), sans appel HTTP ; null si jamais chargée
+     */
+    public TmdbMovieDto getStaleMovieDetails(Integer tmdbId) {
+        TmdbMovieDto full = detailsCache.peekStaleMovie(TmdbCacheKey.movie(tmdbId, language, TmdbDetailLevel.FULL));
+        return full != null ? full : detailsCache.peekStaleMovie(TmdbCacheKey.movie(tmdbId, language, TmdbDetailLevel.SUMMARY));
+    }
+
+    /**
+     * Dernière fiche série connue (éventuellement périmée), sans appel HTTP ; null si jamais chargée
+     */
+    public TmdbSerieDto getStaleSerieDetails(Integer tmdbId) {
+        TmdbSerieDto full = detailsCache.peekStaleSerie(TmdbCacheKey.serie(tmdbId, language, TmdbDetailLevel.FULL));
+        return full != null ? full : detailsCache.peekStaleSerie(TmdbCacheKey.serie(tmdbId, language, TmdbDetailLevel.SUMMARY));
+    }
+
+    /**
+     * Nombre d'appels de détails servis par une requête TMDB déjà en cours
+     */
+    public long coalescedDetailCalls() {
+        return movieFlights.coalescedCount() + serieFlights.coalescedCount();
+    }
+
+    private TmdbMovieDto loadMovieDetails(TmdbCacheKey key) {
+        TmdbMovieDto movie = fetchMovieDetails(key.tmdbId(), key.level());
+        detailsCache.putMovie(key, movie);
+        return movie;
+    }
+
+    private TmdbSerieDto loadSerieDetails(TmdbCacheKey key) {
+        TmdbSerieDto serie = fetchSerieDetails(key.tmdbId(), key.level());
+        detailsCache.putSerie(key, serie);
+        return serie;
+    }
+
+    /**
+     * Appel HTTP TMDB protégé : disjoncteur (échec immédiat si ouvert), puis limiteur (débit, concurrence), puis mesure
+     */
+    private <T> T callTmdb(String endpoint, Supplier<T> http) {
+        return circuitBreaker.execute(() -> requestLimiter.execute(() -> timed(endpoint, http)));
+    }
+
+    /**
+     * Mesure un appel HTTP TMDB (hors attente du limiteur) : timer tmdb.requests tagué par endpoint et résultat
+     */
+    private <T> T timed(String endpoint, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("tmdb.requests")
+                .description("Appels HTTP vers l'API TMDB")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * URL d'une fiche TMDB : les crédits ne sont demandés qu'au niveau FULL
+     */
+    private String detailsUrl(String path, Integer tmdbId, TmdbDetailLevel level) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
+                .path(path)
+                .queryParam("language", language);
+        if (level == TmdbDetailLevel.FULL) {
+            builder.queryParam("append_to_response", "credits");
+        }
+        return builder.buildAndExpand(tmdbId).toUriString();
+    }
+
+    /**
+     * Ne garde que les premiers rôles (TMDB trie la distribution par ordre d'apparition au générique)
+     */
+    private void truncateCast(TmdbMovieDto.CreditsDto credits) {
+        if (credits != null && credits.getCast() != null && credits.getCast().size() > maxCast) {
+            credits.setCast(new ArrayList<>(credits.getCast().subList(0, maxCast)));
+        }
+    }
+
+    /**
+     * Appel HTTP TMDB pour les détails d'un film
+     */
+    private TmdbMovieDto fetchMovieDetails(Integer tmdbId, TmdbDetailLevel level) {
         logger.info("Récupération des détails du film TMDB ID: {}", tmdbId);
         
-        String url = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
-                .path("/movie/{id}")
-                .queryParam("append_to_response", "credits")
-                .queryParam("language", "fr-FR")
-                .buildAndExpand(tmdbId)
-                .toUriString();
+        String url = detailsUrl("/movie/{id}", tmdbId, level);
 
         try {
-            TmdbMovieDto movie = restTemplate.getForObject(url, TmdbMovieDto.class);
+            TmdbMovieDto movie = callTmdb("movie", () -> restTemplate.getForObject(url, TmdbMovieDto.class));
             if (movie == null) {
                 throw new TmdbApiException("Film TMDB non trouvé avec l'ID: " + tmdbId);
             }
+            truncateCast(movie.getCredits());
             logger.debug("Détails récupérés pour le film: {}", movie.getTitle());
             return movie;
         } catch (RestClientException e) {
             logger.error("Erreur lors de la récupération du film {}: {}", tmdbId, e.getMessage());
-            throw new TmdbApiException("Erreur lors de la récupération des détails du film TMDB", e);
+            throw detailsError("Erreur lors de la récupération des détails du film TMDB", e);
         }
     }
 
     /**
-     * Récupère les détails complets d'une série TMDB
+     * Appel HTTP TMDB pour les détails d'une série
      */
-    public TmdbSerieDto getSerieDetails(Integer tmdbId) {
+    private TmdbSerieDto fetchSerieDetails(Integer tmdbId, TmdbDetailLevel level) {
         logger.info("Récupération des détails de la série TMDB ID: {}", tmdbId);
         
-        String url = UriComponentsBuilder.fromUriString(tmdbBaseUrl)
-                .path("/tv/{id}")
-                .queryParam("append_to_response", "credits")
-                .queryParam("language", "fr-FR")
-                .buildAndExpand(tmdbId)
-                .toUriString();
+        String url = detailsUrl("/tv/{id}", tmdbId, level);
 
         try {
-            TmdbSerieDto serie = restTemplate.getForObject(url, TmdbSerieDto.class);
+            TmdbSerieDto serie = callTmdb("tv", () -> restTemplate.getForObject(url, TmdbSerieDto.class));
             if (serie == null) {
                 throw new TmdbApiException("Série TMDB non trouvée avec l'ID: " + tmdbId);
             }
+            truncateCast(serie.getCredits());
             logger.debug("Détails récupérés pour la série: {}", serie.getName());
             return serie;
         } catch (RestClientException e) {
             logger.error("Erreur lors de la récupération de la série {}: {}", tmdbId, e.getMessage());
-            throw new TmdbApiException("Erreur lors de la récupération des détails de la série TMDB", e);
+            throw detailsError("Erreur lors de la récupération des détails de la série TMDB", e);
         }
     }
 
     /**
-     * Récupère les détails d'un film de manière asynchrone (pour l'enrichissement poster_path)
+     * Erreur d'un appel de détails : indisponibilité (mêmes échecs que le disjoncteur : transport, délai, 5xx)
+     * ou erreur définitive (4xx : fiche supprimée, jeton invalide), qui ne doit pas être masquée par une fiche de repli
      */
-    public CompletableFuture<TmdbMovieDto> getMovieDetailsAsync(Integer tmdbId) {
-        return CompletableFuture.supplyAsync(() -> getMovieDetails(tmdbId), executor);
+    private static TmdbApiException detailsError(String message, RestClientException e) {
+        return TmdbCircuitBreaker.isFailure(e) ? new TmdbUnavailableException(message, e) : new TmdbApiException(message, e);
     }
 
     /**
-     * Récupère les détails d'une série de manière asynchrone (pour l'enrichissement poster_path)
+     * Récupère les détails d'un film de manière asynchrone sur le pool TMDB (cache puis appel partagé)
      */
-    public CompletableFuture<TmdbSerieDto> getSerieDetailsAsync(Integer tmdbId) {
-        return CompletableFuture.supplyAsync(() -> getSerieDetails(tmdbId), executor);
+    public CompletableFuture<TmdbMovieDto> getMovieDetailsAsync(Integer tmdbId, TmdbDetailLevel level) {
+        TmdbCacheKey key = TmdbCacheKey.movie(tmdbId, language, level);
+        TmdbMovieDto cached = detailsCache.peekMovie(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return movieFlights.submit(key, () -> requestLimiter.submit(() -> loadMovieDetails(key)));
+    }
+
+    /**
+     * Récupère les détails d'une série de manière asynchrone sur le pool TMDB (cache puis appel partagé)
+     */
+    public CompletableFuture<TmdbSerieDto> getSerieDetailsAsync(Integer tmdbId, TmdbDetailLevel level) {
+        TmdbCacheKey key = TmdbCacheKey.serie(tmdbId, language, level);
+        TmdbSerieDto cached = detailsCache.peekSerie(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return serieFlights.submit(key, () -> requestLimiter.submit(() -> loadSerieDetails(key)));
     }
 }
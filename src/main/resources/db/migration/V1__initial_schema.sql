@@ -0,0 +1,101 @@
+-- Schéma initial (repris d'init.sql). Idempotent : une base existante (init.sql, ddl-auto=update) est marquée
+-- en version 0 (spring.flyway.baseline-on-migrate) puis passe par ce script, qui ne crée que ce qui manque
+-- (extensions, fonctions, index de la recherche locale et triggers).
+-- Les tables déjà présentes sont laissées telles quelles (CREATE TABLE IF NOT EXISTS) : sur une base créée par
+-- ddl-auto=update, id reste une colonne IDENTITY, review un VARCHAR(1000), created_at/updated_at sans défaut,
+-- et la contrainte UNIQUE sur tmdb_id porte un nom généré par Hibernate. Les migrations suivantes ne doivent
+-- donc pas supposer la forme des tables décrite ici (noms de contraintes, types, défauts).
+
+-- Extensions de la recherche locale (accents ignorés, similarité par trigrammes)
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Table Movie
+CREATE TABLE IF NOT EXISTS movie (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    tmdb_id INTEGER UNIQUE,
+    rating NUMERIC(3,1) CHECK (rating >= 0 AND rating <= 10),
+    wishlist BOOLEAN DEFAULT FALSE NOT NULL,
+    review TEXT,
+    view_count INTEGER DEFAULT 0 NOT NULL,
+    watched BOOLEAN DEFAULT FALSE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Table Serie
+CREATE TABLE IF NOT EXISTS serie (
+    id BIGSERIAL PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    tmdb_id INTEGER UNIQUE,
+    rating NUMERIC(3,1) CHECK (rating >= 0 AND rating <= 10),
+    wishlist BOOLEAN DEFAULT FALSE NOT NULL,
+    review TEXT,
+    view_count INTEGER DEFAULT 0 NOT NULL,
+    watched BOOLEAN DEFAULT FALSE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Table des métadonnées TMDB (copie locale pour les listes)
+CREATE TABLE IF NOT EXISTS tmdb_metadata (
+    id BIGSERIAL PRIMARY KEY,
+    media_type VARCHAR(10) NOT NULL,
+    tmdb_id INTEGER NOT NULL,
+    poster_path VARCHAR(255),
+    backdrop_path VARCHAR(255),
+    genres VARCHAR(500),
+    runtime INTEGER,
+    vote_average REAL,
+    release_date VARCHAR(10),
+    fetched_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_tmdb_metadata_media_type_tmdb_id UNIQUE (media_type, tmdb_id)
+);
+
+-- unaccent() n'est pas IMMUTABLE : enveloppe utilisable dans les index
+CREATE OR REPLACE FUNCTION f_unaccent(text) RETURNS text AS $$
+    SELECT public.unaccent('public.unaccent', $1)
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+-- Vecteur de recherche locale : titre (poids A) puis critique (poids B), français sans accents
+CREATE OR REPLACE FUNCTION library_search_vector(title text, review text) RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('french'::regconfig, public.f_unaccent(coalesce(title, ''))), 'A')
+        || setweight(to_tsvector('french'::regconfig, public.f_unaccent(coalesce(review, ''))), 'B')
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE;
+
+-- Pagination par clé (created_at DESC, id DESC) et filtres wishlist / watched
+CREATE INDEX IF NOT EXISTS idx_movie_tmdb_id ON movie(tmdb_id);
+CREATE INDEX IF NOT EXISTS idx_movie_created_at_id ON movie(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_movie_wishlist_created_at_id ON movie(wishlist, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_movie_watched_created_at_id ON movie(watched, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_movie_rating ON movie(rating) WHERE rating IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_serie_tmdb_id ON serie(tmdb_id);
+CREATE INDEX IF NOT EXISTS idx_serie_created_at_id ON serie(created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_serie_wishlist_created_at_id ON serie(wishlist, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_serie_watched_created_at_id ON serie(watched, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_serie_rating ON serie(rating) WHERE rating IS NOT NULL;
+
+-- Recherche locale (/library/search) : plein texte titre + critique, trigrammes sur le titre
+CREATE INDEX IF NOT EXISTS idx_movie_search ON movie USING GIN (library_search_vector(title, review));
+CREATE INDEX IF NOT EXISTS idx_movie_title_trgm ON movie USING GIN (f_unaccent(lower(title)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_serie_search ON serie USING GIN (library_search_vector(title, review));
+CREATE INDEX IF NOT EXISTS idx_serie_title_trgm ON serie USING GIN (f_unaccent(lower(title)) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_tmdb_metadata_fetched_at ON tmdb_metadata(media_type, fetched_at);
+
+-- Mise à jour automatique de updated_at
+CREATE OR REPLACE FUNCTION update_updated_at_column()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.updated_at = CURRENT_TIMESTAMP;
+    RETURN NEW;
+END;
+$$ language 'plpgsql';
+
+CREATE OR REPLACE TRIGGER update_movie_updated_at BEFORE UPDATE ON movie
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+CREATE OR REPLACE TRIGGER update_serie_updated_at BEFORE UPDATE ON serie
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,66 @@
+-- Note : échelle 0-5 validée par l'API (@Max(5)) et type REAL de l'entité, au lieu de NUMERIC(3,1) 0-10.
+-- L'échelle est décidée une fois par table, pas ligne à ligne : si au moins une note dépasse 5, la table
+-- entière est considérée notée sur 10 et toutes ses notes sont divisées par 2 (l'ordre des notes est conservé) ;
+-- sinon elle est déjà sur 5 et reste inchangée. Une table notée sur 10 sans aucune note au-dessus de 5
+-- n'est pas détectable : à ramener sur 5 à la main avant la migration.
+ALTER TABLE movie DROP CONSTRAINT IF EXISTS movie_rating_check;
+ALTER TABLE movie ALTER COLUMN rating TYPE REAL;
+UPDATE movie SET rating = rating / 2
+WHERE rating IS NOT NULL AND EXISTS (SELECT 1 FROM movie WHERE rating > 5);
+ALTER TABLE movie ADD CONSTRAINT ck_movie_rating CHECK (rating >= 0 AND rating <= 5);
+
+ALTER TABLE serie DROP CONSTRAINT IF EXISTS serie_rating_check;
+ALTER TABLE serie ALTER COLUMN rating TYPE REAL;
+UPDATE serie SET rating = rating / 2
+WHERE rating IS NOT NULL AND EXISTS (SELECT 1 FROM serie WHERE rating > 5);
+ALTER TABLE serie ADD CONSTRAINT ck_serie_rating CHECK (rating >= 0 AND rating <= 5);
+
+-- tmdb_id : l'index de la contrainte UNIQUE suffit. Supprime l'index en double ainsi que les contraintes
+-- UNIQUE ajoutées en plus par ddl-auto=update sur les bases existantes, puis garantit une contrainte unique
+-- sous le nom de V1 (une base créée par ddl-auto=update n'a que celle d'Hibernate, au nom généré) :
+-- l'import en lot (ON CONFLICT (tmdb_id)) en dépend.
+DROP INDEX IF EXISTS idx_movie_tmdb_id;
+DROP INDEX IF EXISTS idx_serie_tmdb_id;
+
+DO $$
+DECLARE
+    duplicate record;
+BEGIN
+    FOR duplicate IN
+        SELECT con.conrelid::regclass AS table_name, con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.contype = 'u'
+          AND con.conrelid IN ('movie'::regclass, 'serie'::regclass)
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname = 'tmdb_id'
+          AND con.conname NOT IN ('movie_tmdb_id_key', 'serie_tmdb_id_key')
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', duplicate.table_name, duplicate.conname);
+    END LOOP;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'movie'::regclass AND conname = 'movie_tmdb_id_key') THEN
+        ALTER TABLE movie ADD CONSTRAINT movie_tmdb_id_key UNIQUE (tmdb_id);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'serie'::regclass AND conname = 'serie_tmdb_id_key') THEN
+        ALTER TABLE serie ADD CONSTRAINT serie_tmdb_id_key UNIQUE (tmdb_id);
+    END IF;
+END $$;
+
+-- Listes (pagination par clé created_at DESC, id DESC) : index complet, puis index partiels
+-- pour la wishlist et les éléments notés (seules les lignes concernées sont indexées)
+CREATE INDEX IF NOT EXISTS idx_movie_created_at_id ON movie(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_movie_wishlist_created_at_id;
+CREATE INDEX idx_movie_wishlist_created_at_id ON movie(created_at DESC, id DESC) WHERE wishlist;
+CREATE INDEX idx_movie_rated_created_at_id ON movie(created_at DESC, id DESC) WHERE rating IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_serie_created_at_id ON serie(created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_serie_wishlist_created_at_id;
+CREATE INDEX idx_serie_wishlist_created_at_id ON serie(created_at DESC, id DESC) WHERE wishlist;
+CREATE INDEX idx_serie_rated_created_at_id ON serie(created_at DESC, id DESC) WHERE rating IS NOT NULL;
+
+-- Filtre minRating (plage sur la note, meilleures notes d'abord)
+DROP INDEX IF EXISTS idx_movie_rating;
+CREATE INDEX idx_movie_rating ON movie(rating DESC) WHERE rating IS NOT NULL;
+DROP INDEX IF EXISTS idx_serie_rating;
+CREATE INDEX idx_serie_rating ON serie(rating DESC) WHERE rating IS NOT NULL;
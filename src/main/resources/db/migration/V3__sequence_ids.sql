@@ -0,0 +1,26 @@
+-- Identifiants tirés de séquences incrémentées de 50 (movie_seq, serie_seq, tmdb_metadata_seq) au lieu de
+-- BIGSERIAL : Hibernate réserve un bloc d'ids par appel (optimiseur pooled-lo) et regroupe les INSERT en lot.
+-- Les séquences restent la valeur par défaut des colonnes id pour les écritures SQL directes (import en lot) :
+-- avec pooled-lo, chaque nextval() ouvre un nouveau bloc, les deux usages ne peuvent pas se chevaucher.
+-- Selon l'origine de la base, id est soit BIGSERIAL (V1, init.sql : défaut nextval('<table>_id_seq')),
+-- soit GENERATED BY DEFAULT AS IDENTITY (ddl-auto=update avec GenerationType.IDENTITY) ; une colonne
+-- IDENTITY refuse SET DEFAULT, d'où le DROP IDENTITY IF EXISTS (sans effet sur une colonne BIGSERIAL).
+-- Pour chaque table : identité retirée, séquence créée, positionnée après MAX(id), puis mise en défaut
+-- de la colonne ; l'ancienne séquence BIGSERIAL, qui n'est plus référencée, est supprimée.
+ALTER TABLE movie ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE movie_seq INCREMENT BY 50 OWNED BY movie.id;
+SELECT setval('movie_seq', COALESCE((SELECT MAX(id) FROM movie), 0) + 1, false);
+ALTER TABLE movie ALTER COLUMN id SET DEFAULT nextval('movie_seq');
+DROP SEQUENCE IF EXISTS movie_id_seq;
+
+ALTER TABLE serie ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE serie_seq INCREMENT BY 50 OWNED BY serie.id;
+SELECT setval('serie_seq', COALESCE((SELECT MAX(id) FROM serie), 0) + 1, false);
+ALTER TABLE serie ALTER COLUMN id SET DEFAULT nextval('serie_seq');
+DROP SEQUENCE IF EXISTS serie_id_seq;
+
+ALTER TABLE tmdb_metadata ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE tmdb_metadata_seq INCREMENT BY 50 OWNED BY tmdb_metadata.id;
+SELECT setval('tmdb_metadata_seq', COALESCE((SELECT MAX(id) FROM tmdb_metadata), 0) + 1, false);
+ALTER TABLE tmdb_metadata ALTER COLUMN id SET DEFAULT nextval('tmdb_metadata_seq');
+DROP SEQUENCE IF EXISTS tmdb_metadata_id_seq;
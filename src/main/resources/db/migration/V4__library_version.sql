@@ -0,0 +1,52 @@
+-- Version de la bibliothèque par type (ETag des réponses) : incrémentée par trigger dans la transaction
+-- de toute écriture sur movie, serie ou tmdb_metadata, y compris hors de l'API (SQL direct, autre instance).
+-- Exception : une mise à jour qui ne touche que view_count (et updated_at, posé par trigger) ne compte pas.
+-- POST /{id}/views ne prend donc pas le verrou de la ligne library_version et n'invalide pas les ETag ;
+-- le compteur de vues d'une liste servie en 304 peut être en retard jusqu'à la prochaine écriture.
+-- La première vue passe watched à TRUE et incrémente la version (le filtre watched des listes change).
+CREATE TABLE library_version (
+    media_type VARCHAR(10) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+INSERT INTO library_version (media_type) VALUES ('MOVIE'), ('SERIE');
+
+CREATE OR REPLACE FUNCTION bump_library_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE library_version SET version = version + 1 WHERE media_type = TG_ARGV[0];
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Métadonnées : le type dépend de la ligne (trigger par ligne)
+CREATE OR REPLACE FUNCTION bump_library_version_for_metadata() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        UPDATE library_version SET version = version + 1 WHERE media_type = OLD.media_type;
+    ELSE
+        UPDATE library_version SET version = version + 1 WHERE media_type = NEW.media_type;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bump_movie_library_version AFTER INSERT OR DELETE ON movie
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_library_version('MOVIE');
+
+CREATE TRIGGER bump_serie_library_version AFTER INSERT OR DELETE ON serie
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_library_version('SERIE');
+
+-- Mises à jour : trigger par ligne filtré par WHEN, la ligne est comparée sans view_count ni updated_at
+-- (to_jsonb couvre aussi les colonnes ajoutées plus tard). Un UPDATE de n lignes incrémente n fois
+-- la version, dans la même transaction et sous le même verrou.
+CREATE TRIGGER bump_movie_library_version_on_update AFTER UPDATE ON movie
+    FOR EACH ROW
+    WHEN (to_jsonb(OLD) - 'view_count' - 'updated_at' IS DISTINCT FROM to_jsonb(NEW) - 'view_count' - 'updated_at')
+    EXECUTE FUNCTION bump_library_version('MOVIE');
+
+CREATE TRIGGER bump_serie_library_version_on_update AFTER UPDATE ON serie
+    FOR EACH ROW
+    WHEN (to_jsonb(OLD) - 'view_count' - 'updated_at' IS DISTINCT FROM to_jsonb(NEW) - 'view_count' - 'updated_at')
+    EXECUTE FUNCTION bump_library_version('SERIE');
+
+CREATE TRIGGER bump_tmdb_metadata_library_version AFTER INSERT OR UPDATE OR DELETE ON tmdb_metadata
+    FOR EACH ROW EXECUTE FUNCTION bump_library_version_for_metadata();
@@ -0,0 +1,14 @@
+-- Données d'exemple (profils dev et docker uniquement, cf. spring.flyway.locations)
+INSERT INTO movie (title, tmdb_id, rating, wishlist, review, watched)
+VALUES
+    ('Fight Club', 550, 4.75, true, 'Un chef-d''œuvre absolu de David Fincher', true),
+    ('The Matrix', 603, 4.5, false, 'Film révolutionnaire', true),
+    ('Inception', 27205, 4.4, true, 'Complexe mais brillant', false)
+ON CONFLICT (tmdb_id) DO NOTHING;
+
+INSERT INTO serie (title, tmdb_id, rating, wishlist, review, watched)
+VALUES
+    ('Breaking Bad', 1396, 4.9, true, 'La meilleure série de tous les temps', true),
+    ('Game of Thrones', 1399, 3.75, false, 'Excellente jusqu''à la saison 6', true),
+    ('The Office', 2316, 4.25, true, 'Comédie parfaite', false)
+ON CONFLICT (tmdb_id) DO NOTHING;
@@ -0,0 +1,58 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.entity.TmdbMediaType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryVersionsTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldBuildEtagFromDatabaseVersion() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("MOVIE"))).thenReturn(42L);
+        LibraryVersions versions = new LibraryVersions(jdbcTemplate, transactionManager);
+
+        // When
+        String etag = versions.etag(TmdbMediaType.MOVIE, "list");
+
+        // Then
+        assertEquals("\"movie-42-list\"", etag);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertTrue(definition.getValue().isReadOnly());
+    }
+
+    @Test
+    void shouldChangeEtagWhenAnotherInstanceWrites() {
+        // Given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("SERIE"))).thenReturn(7L, 8L);
+        LibraryVersions versions = new LibraryVersions(jdbcTemplate, transactionManager);
+
+        // When
+        String before = versions.etag(TmdbMediaType.SERIE, "12");
+        String after = versions.etag(TmdbMediaType.SERIE, "12");
+
+        // Then
+        assertEquals("\"serie-7-12\"", before);
+        assertNotEquals(before, after);
+    }
+}
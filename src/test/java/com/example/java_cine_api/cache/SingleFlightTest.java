@@ -0,0 +1,98 @@
+package com.example.java_cine_api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(5);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                results.add(pool.submit(() -> flights.execute("movie:550", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "Fight Club";
+                })));
+            }
+            while (flights.coalescedCount() < 4) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertEquals("Fight Club", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void shouldReturnSameFutureWhileAsyncLoadIsPending() {
+        // Given
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger starts = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> first = flights.submit("tv:1399", () -> {
+            starts.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = flights.submit("tv:1399", () -> {
+            starts.incrementAndGet();
+            return CompletableFuture.completedFuture("autre");
+        });
+        pending.complete("Game of Thrones");
+
+        // Then
+        assertSame(first, second);
+        assertEquals("Game of Thrones", second.join());
+        assertEquals(1, starts.get());
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    void shouldPropagateFailureAndAllowRetry() {
+        // When
+        assertThrows(IllegalStateException.class, () -> flights.execute("movie:603", () -> {
+            throw new IllegalStateException("TMDB indisponible");
+        }));
+        String retried = flights.execute("movie:603", () -> "Matrix");
+
+        // Then
+        assertEquals("Matrix", retried);
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.response.TitleSuggestion;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggestionIndexTest {
+
+    private final TitleSuggestionIndex index = new TitleSuggestionIndex(2);
+
+    @Test
+    void shouldMatchPrefixFromAnyWordIgnoringAccents() {
+        // Given
+        index.putLocal(TmdbMediaType.MOVIE, 1L, "Le Fabuleux Destin d'Amélie Poulain", 194);
+        index.putLocal(TmdbMediaType.MOVIE, 2L, "The Matrix", 603);
+
+        // When
+        List<TitleSuggestion> byFirstWord = index.suggest("le fab", 10);
+        List<TitleSuggestion> byInnerWord = index.suggest("AMEL", 10);
+
+        // Then
+        assertEquals(1, byFirstWord.size());
+        assertEquals(1L, byInnerWord.get(0).localId());
+        assertTrue(index.suggest("matrix reloaded", 10).isEmpty());
+    }
+
+    @Test
+    void shouldPreferLocalEntryOverSameTmdbTitle() {
+        // Given
+        index.putTmdb(TmdbMediaType.MOVIE, 603, "Matrix");
+        index.putTmdb(TmdbMediaType.MOVIE, 604, "Matrix Reloaded");
+        index.putLocal(TmdbMediaType.MOVIE, 7L, "Matrix", 603);
+
+        // When
+        List<TitleSuggestion> suggestions = index.suggest("matr", 10);
+
+        // Then
+        assertEquals(2, suggestions.size());
+        assertEquals(7L, suggestions.get(0).localId());
+        assertFalse(suggestions.get(1).isLocal());
+    }
+
+    @Test
+    void shouldRemoveAndRenameLocalEntries() {
+        // Given
+        index.putLocal(TmdbMediaType.SERIE, 3L, "Breaking Bad", 1396);
+        index.putLocal(TmdbMediaType.SERIE, 4L, "The Office", 2316);
+
+        // When
+        index.removeLocal(TmdbMediaType.SERIE, 3L);
+        index.putLocal(TmdbMediaType.SERIE, 4L, "The Office (US)", 2316);
+
+        // Then
+        assertTrue(index.suggest("breaking", 10).isEmpty());
+        assertEquals("The Office (US)", index.suggest("office", 10).get(0).title());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldStopAddingTmdbTitlesOverCapacity() {
+        // When
+        index.putTmdb(TmdbMediaType.MOVIE, 1, "Alien");
+        index.putTmdb(TmdbMediaType.MOVIE, 2, "Aliens");
+        index.putTmdb(TmdbMediaType.MOVIE, 3, "Alien 3");
+
+        // Then
+        assertEquals(2, index.suggest("alien", 10).size());
+    }
+}
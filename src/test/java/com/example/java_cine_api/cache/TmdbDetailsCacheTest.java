@@ -0,0 +1,99 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSerieDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbDetailsCacheTest {
+
+    private final TmdbDetailsCache cache = new TmdbDetailsCache(100, Duration.ofMinutes(5), Duration.ofHours(1));
+
+    @Test
+    void shouldServePutEntryAndCountHitsAndMisses() {
+        // Given
+        TmdbCacheKey key = TmdbCacheKey.movie(550, "fr-FR");
+        TmdbMovieDto movie = movie(550);
+
+        // When
+        TmdbMovieDto before = cache.peekMovie(key);
+        cache.putMovie(key, movie);
+        TmdbMovieDto after = cache.peekMovie(key);
+
+        // Then
+        assertNull(before);
+        assertSame(movie, after);
+        assertEquals(1, cache.movieStats().hitCount());
+        assertEquals(1, cache.movieStats().missCount());
+    }
+
+    @Test
+    void shouldSeparateEntriesByLanguage() {
+        // Given
+        cache.putMovie(TmdbCacheKey.movie(550, "fr-FR"), movie(550));
+
+        // When / Then
+        assertNull(cache.peekMovie(TmdbCacheKey.movie(550, "en-US")));
+    }
+
+    @Test
+    void shouldServeSummaryRequestFromFullEntryWithSingleHit() {
+        // Given
+        TmdbMovieDto full = movie(550);
+        cache.putMovie(TmdbCacheKey.movie(550, "fr-FR", TmdbDetailLevel.FULL), full);
+
+        // When
+        TmdbMovieDto summary = cache.peekMovie(TmdbCacheKey.movie(550, "fr-FR", TmdbDetailLevel.SUMMARY));
+
+        // Then
+        assertSame(full, summary);
+        assertEquals(1, cache.movieStats().requestCount());
+        assertEquals(1, cache.movieStats().hitCount());
+    }
+
+    @Test
+    void shouldCountSingleMissWhenNeitherSummaryNorFullIsCached() {
+        // When
+        TmdbSerieDto serie = cache.peekSerie(TmdbCacheKey.serie(1399, "fr-FR", TmdbDetailLevel.SUMMARY));
+
+        // Then
+        assertNull(serie);
+        assertEquals(1, cache.serieStats().requestCount());
+        assertEquals(1, cache.serieStats().missCount());
+    }
+
+    @Test
+    void shouldNotServeFullRequestFromSummaryEntry() {
+        // Given
+        cache.putMovie(TmdbCacheKey.movie(550, "fr-FR", TmdbDetailLevel.SUMMARY), movie(550));
+
+        // When / Then
+        assertNull(cache.peekMovie(TmdbCacheKey.movie(550, "fr-FR", TmdbDetailLevel.FULL)));
+    }
+
+    @Test
+    void shouldKeepStaleCopyOfPutEntries() {
+        // Given
+        TmdbCacheKey key = TmdbCacheKey.movie(603, "fr-FR");
+        TmdbMovieDto movie = movie(603);
+
+        // When
+        cache.putMovie(key, movie);
+
+        // Then
+        assertSame(movie, cache.peekStaleMovie(key));
+        assertNull(cache.peekStaleMovie(TmdbCacheKey.movie(680, "fr-FR")));
+        assertEquals(0, cache.movieStats().requestCount());
+    }
+
+    private static TmdbMovieDto movie(Integer tmdbId) {
+        TmdbMovieDto dto = new TmdbMovieDto();
+        dto.setId(tmdbId);
+        dto.setPosterPath("/poster.jpg");
+        return dto;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.java_cine_api.cache;
+
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbSearchCacheTest {
+
+    private final TmdbSearchCache cache = new TmdbSearchCache(100, Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+    @Test
+    void shouldShareEntryBetweenEquivalentQueries() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        TmdbSearchResponseDto<TmdbMovieDto> first =
+            cache.get(TmdbSearchKey.of(TmdbSearchKey.MOVIE, "  Amélie  Poulain ", "fr-FR", 1), k -> results(loads, 1));
+        TmdbSearchResponseDto<TmdbMovieDto> second =
+            cache.get(TmdbSearchKey.of(TmdbSearchKey.MOVIE, "amelie poulain", "fr-FR", 1), k -> results(loads, 1));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void shouldSeparateEntriesBySearchTypeLanguageAndPage() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get(TmdbSearchKey.of(TmdbSearchKey.MOVIE, "dune", "fr-FR", 1), k -> results(loads, 1));
+        cache.get(TmdbSearchKey.of(TmdbSearchKey.SERIE, "dune", "fr-FR", 1), k -> results(loads, 1));
+        cache.get(TmdbSearchKey.of(TmdbSearchKey.MOVIE, "dune", "en-US", 1), k -> results(loads, 1));
+        cache.get(TmdbSearchKey.of(TmdbSearchKey.MOVIE, "dune", "fr-FR", 2), k -> results(loads, 1));
+
+        // Then
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldCacheEmptyResults() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        TmdbSearchKey key = TmdbSearchKey.of(TmdbSearchKey.MULTI, "zzzzqx", "fr-FR", 1);
+
+        // When
+        cache.get(key, k -> results(loads, 0));
+        cache.get(key, k -> results(loads, 0));
+
+        // Then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNormalizeCaseWhitespaceAndAccents() {
+        assertEquals("le fabuleux destin d'amelie", SearchQueryNormalizer.normalize(" Le  Fabuleux\tDestin d'AMÉLIE "));
+        assertEquals("", SearchQueryNormalizer.normalize(null));
+    }
+
+    private static TmdbSearchResponseDto<TmdbMovieDto> results(AtomicInteger loads, int count) {
+        loads.incrementAndGet();
+        List<TmdbMovieDto> movies = count == 0 ? List.of() : List.of(new TmdbMovieDto());
+        return new TmdbSearchResponseDto<>(1, movies, 1, count);
+    }
+}
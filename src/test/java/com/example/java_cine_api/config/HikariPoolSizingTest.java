@@ -0,0 +1,25 @@
+package com.example.java_cine_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolSizingTest {
+
+    @Test
+    void shouldDeriveFixedPoolSizeFromCores() {
+        // Given
+        int expected = HikariPoolSizing.poolSize(Runtime.getRuntime().availableProcessors(), 1);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(3);
+
+        // When
+        new HikariPoolSizing(1).postProcessAfterInitialization(dataSource, "dataSource");
+
+        // Then
+        assertEquals(9, HikariPoolSizing.poolSize(4, 1));
+        assertEquals(expected, dataSource.getMaximumPoolSize());
+        assertEquals(expected, dataSource.getMinimumIdle());
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private JdbcTemplate replicaJdbc;
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    private LibraryWrites writes;
+    private ReplicaLagMonitor monitor;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        writes = new LibraryWrites();
+        monitor = new ReplicaLagMonitor(replicaJdbc, Duration.ofSeconds(5));
+        routing = new ReplicaRoutingDataSource(primary, replica, monitor, writes, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldUsePrimaryUntilFirstLagCheck() {
+        // When / Then
+        assertFalse(monitor.isUsable());
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldUseReplicaWhenLagIsBelowThreshold() {
+        // Given
+        when(replicaJdbc.queryForObject(anyString(), eq(Double.class))).thenReturn(0.4);
+
+        // When
+        monitor.check();
+
+        // Then
+        assertEquals(0.4, monitor.lagSeconds());
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLagsOrFails() {
+        // Given
+        when(replicaJdbc.queryForObject(anyString(), eq(Double.class)))
+                .thenReturn(0.0)
+                .thenReturn(12.0)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // When / Then
+        monitor.check();
+        assertTrue(monitor.isUsable());
+
+        monitor.check();
+        assertFalse(monitor.isUsable());
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+
+        monitor.check();
+        assertFalse(monitor.isUsable());
+        assertTrue(Double.isNaN(monitor.lagSeconds()));
+    }
+
+    @Test
+    void shouldReadFromPrimaryRightAfterAWrite() {
+        // Given
+        when(replicaJdbc.queryForObject(anyString(), eq(Double.class))).thenReturn(0.0);
+        monitor.check();
+
+        // When
+        writes.record();
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.Target.PRIMARY, routing.determineCurrentLookupKey());
+        assertEquals(ReplicaRoutingDataSource.Target.REPLICA,
+                new ReplicaRoutingDataSource(primary, replica, monitor, writes, Duration.ZERO).determineCurrentLookupKey());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.java_cine_api.config;
+
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.cache.TmdbCacheKey;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.service.TmdbCircuitBreaker;
+import com.example.java_cine_api.service.TmdbRequestLimiter;
+import com.example.java_cine_api.service.TmdbService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TmdbMetricsBinderTest {
+
+    private final TmdbRequestLimiter limiter = new TmdbRequestLimiter(2, 1000, 1000, Duration.ofSeconds(1));
+    private final TmdbCircuitBreaker circuitBreaker = new TmdbCircuitBreaker(50, 10, 5, Duration.ofSeconds(30), 1);
+    private final TmdbDetailsCache detailsCache = new TmdbDetailsCache(10, Duration.ofMinutes(5), Duration.ofHours(1));
+    private final TmdbSearchCache searchCache = new TmdbSearchCache(10, Duration.ofMinutes(5), Duration.ofMinutes(1));
+    private final TmdbService tmdbService = mock(TmdbService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void shouldExposeCacheHitRatioAndLimiterMetrics() {
+        // Given
+        new TmdbMetricsBinder(limiter, circuitBreaker, detailsCache, searchCache, tmdbService).bindTo(registry);
+        when(tmdbService.coalescedDetailCalls()).thenReturn(3L);
+        TmdbCacheKey key = TmdbCacheKey.movie(550, "fr-FR");
+
+        // When
+        detailsCache.peekMovie(key);
+        detailsCache.putMovie(key, new TmdbMovieDto());
+        detailsCache.peekMovie(key);
+        limiter.execute(() -> "ok");
+
+        // Then
+        assertEquals(0.5, registry.get("tmdb.cache.hit.ratio").tag("cache", "details-movie").gauge().value());
+        assertEquals(1.0, registry.get("tmdb.cache.requests").tag("cache", "details-movie").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("tmdb.executor.queue.size").gauge().value());
+        assertEquals(1.0, registry.get("tmdb.limiter.wait").functionTimer().count());
+        assertEquals(3.0, registry.get("tmdb.details.coalesced").functionCounter().count());
+        assertEquals(1.0, registry.get("tmdb.circuit.state").tag("state", "closed").gauge().value());
+        assertEquals(0.0, registry.get("tmdb.circuit.state").tag("state", "open").gauge().value());
+    }
+
+    @Test
+    void shouldKeepReportingCacheMetricsAfterGarbageCollection() throws InterruptedException {
+        // Given
+        new TmdbMetricsBinder(limiter, circuitBreaker, detailsCache, searchCache, tmdbService).bindTo(registry);
+        TmdbCacheKey key = TmdbCacheKey.movie(550, "fr-FR");
+        detailsCache.putMovie(key, new TmdbMovieDto());
+        detailsCache.peekMovie(key);
+
+        // When : Micrometer ne référence l'objet observé que faiblement
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        // Then
+        assertEquals(1.0, registry.get("tmdb.cache.hit.ratio").tag("cache", "details-movie").gauge().value());
+        assertEquals(1.0, registry.get("tmdb.cache.requests").tag("cache", "details-movie").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(0.0, registry.get("tmdb.cache.evictions").tag("cache", "search").functionCounter().count());
+    }
+}
@@ -1,25 +1,42 @@
 package com.example.java_cine_api.controller;
 
+import com.example.java_cine_api.cache.LibraryVersions;
 import com.example.java_cine_api.dto.movie.CreateMovieDto;
+import com.example.java_cine_api.dto.movie.CreateMovieFromTmdbDto;
+import com.example.java_cine_api.dto.movie.ImportMoviesFromTmdbDto;
+import com.example.java_cine_api.dto.response.ImportItemResult;
+import com.example.java_cine_api.dto.response.ImportResponse;
+import com.example.java_cine_api.dto.response.MediaView;
+import com.example.java_cine_api.dto.response.PagedResponse;
+import com.example.java_cine_api.dto.response.SearchResponse;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
 import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.MediaListFilter;
 import com.example.java_cine_api.service.MovieService;
+import com.example.java_cine_api.service.TmdbImportService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Map;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(MovieController.class)
+@Import(HttpCaching.class)
 @SuppressWarnings("removal") // Supprimer l'avertissement de dépréciation temporairement
 class MovieControllerTest {
 
@@ -29,9 +46,15 @@ class MovieControllerTest {
     @MockBean
     private MovieService movieService;
 
+    @MockBean
+    private TmdbImportService importService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockBean
+    private LibraryVersions versions;
+
     @Test
     void shouldCreateMovie() throws Exception {
         // Given
@@ -58,11 +81,87 @@ class MovieControllerTest {
     @Test
     void shouldGetAllMovies() throws Exception {
         // Given
-        Map<String, Object> response = Map.of("items", List.of());
-        when(movieService.findAll()).thenReturn(response);
+        when(movieService.findAll(MediaListFilter.none(), null, 50)).thenReturn(new PagedResponse<>(List.of(), 50, null));
 
         // When & Then
         mockMvc.perform(get("/movie"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+                .andExpect(jsonPath("$.total").doesNotExist());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutReadingTheLibrary() throws Exception {
+        // Given
+        String etag = "\"movie-3-list\"";
+        when(versions.etag(TmdbMediaType.MOVIE, "list")).thenReturn(etag);
+
+        // When & Then
+        mockMvc.perform(get("/movie").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        verify(movieService, never()).findAll(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldChangeEtagAfterWrite() throws Exception {
+        // Given
+        when(movieService.findAll(MediaListFilter.none(), null, 50)).thenReturn(new PagedResponse<>(List.of(), 50, null));
+        String etag = "\"movie-3-list\"";
+
+        // When
+        when(versions.etag(TmdbMediaType.MOVIE, "list")).thenReturn("\"movie-4-list\"");
+
+        // Then
+        mockMvc.perform(get("/movie").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"movie-4-list\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    void shouldServeDetailWithTmdbDataWithoutEtag() throws Exception {
+        // Given
+        Movie movie = new Movie("Fight Club");
+        movie.setId(1L);
+        when(movieService.findOne(1L)).thenReturn(MediaView.of(movie, new TmdbMovieDto()));
+
+        // When & Then
+        mockMvc.perform(get("/movie/1").header(HttpHeaders.IF_NONE_MATCH, "\"movie-3-id-1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Fight Club"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, private"));
+        verify(versions, never()).etag(any(), any());
+    }
+
+    @Test
+    void shouldNotCacheDetailWithStaleTmdbData() throws Exception {
+        // Given
+        Movie movie = new Movie("Fight Club");
+        movie.setId(1L);
+        when(movieService.findOne(1L)).thenReturn(MediaView.of(movie, new TmdbMovieDto(), true));
+
+        // When & Then
+        mockMvc.perform(get("/movie/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stale").value(true))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    @Test
+    void shouldPassFiltersAndCapPageSize() throws Exception {
+        // Given
+        MediaListFilter filter = new MediaListFilter(true, null, null, 4.0f);
+        when(movieService.findAll(filter, "abc", 200)).thenReturn(new PagedResponse<>(List.of(), 200, null));
+
+        // When & Then
+        mockMvc.perform(get("/movie")
+                .param("wishlist", "true")
+                .param("minRating", "4")
+                .param("after", "abc")
+                .param("limit", "10000"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.items").isArray());
     }
@@ -70,12 +169,7 @@ class MovieControllerTest {
     @Test
     void shouldSearchMovies() throws Exception {
         // Given
-        Map<String, Object> searchResult = Map.of(
-                "query", "test",
-                "limit", 20,
-                "total", 0,
-                "results", List.of());
-        when(movieService.search("test", 20)).thenReturn(searchResult);
+        when(movieService.search("test", 20)).thenReturn(SearchResponse.empty("test", 20));
 
         // When & Then
         mockMvc.perform(get("/movie/search")
@@ -100,4 +194,49 @@ class MovieControllerTest {
                 .content(objectMapper.writeValueAsString(invalidDto)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldImportMoviesInBatch() throws Exception {
+        // Given
+        CreateMovieFromTmdbDto item = new CreateMovieFromTmdbDto();
+        item.setTmdbId(550);
+        ImportMoviesFromTmdbDto importDto = new ImportMoviesFromTmdbDto(List.of(item));
+        when(importService.importMovies(any()))
+                .thenReturn(ImportResponse.of(List.of(ImportItemResult.success(550, ImportItemResult.CREATED, "Fight Club"))));
+
+        // When & Then
+        mockMvc.perform(post("/movie/tmdb/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(importDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("created"))
+                .andExpect(jsonPath("$.results[0].message").doesNotExist());
+    }
+
+    @Test
+    void shouldRejectEmptyBatchImport() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/movie/tmdb/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ImportMoviesFromTmdbDto(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRecordMovieView() throws Exception {
+        // Given
+        Movie movie = new Movie("Fight Club");
+        movie.setId(1L);
+        movie.setViewCount(2);
+        movie.setWatched(true);
+
+        when(movieService.recordView(1L)).thenReturn(movie);
+
+        // When & Then
+        mockMvc.perform(post("/movie/1/views"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.viewCount").value(2))
+                .andExpect(jsonPath("$.watched").value(true));
+    }
 }
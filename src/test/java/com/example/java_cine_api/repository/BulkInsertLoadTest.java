@@ -0,0 +1,142 @@
+package com.example.java_cine_api.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test de charge des écritures en masse sur PostgreSQL (./gradlew loadTest, exclu de ./gradlew test).
+ * Compare les requêtes émises par Hibernate selon la génération d'ids :
+ * - IDENTITY : un INSERT ... RETURNING par ligne (pas de lot possible)
+ * - SEQUENCE (blocs de 50, pooled-lo) + hibernate.jdbc.batch_size + reWriteBatchedInserts :
+ *   un nextval() par bloc puis des INSERT en lot réécrits en INSERT multi-lignes
+ * Base cible : LOAD_TEST_DB_URL, LOAD_TEST_DB_USER, LOAD_TEST_DB_PASSWORD (tables temporaires uniquement).
+ */
+@Tag("load")
+class BulkInsertLoadTest {
+
+    private static final int ROWS = 20_000;
+    private static final int BATCH_SIZE = 50;
+
+    @Test
+    void sequenceBatchedInsertsShouldOutperformIdentityInserts() throws SQLException {
+        // Given
+        String url = System.getenv("LOAD_TEST_DB_URL");
+        assumeTrue(url != null, "LOAD_TEST_DB_URL non défini : test de charge ignoré");
+
+        try (Connection connection = connect(url)) {
+            createTables(connection);
+            // Préchauffage (JIT, requêtes préparées côté serveur)
+            insertWithIdentity(connection, 2_000);
+            insertWithSequenceBatches(connection, 2_000);
+
+            // When
+            double identityRate = rowsPerSecond(ROWS, () -> insertWithIdentity(connection, ROWS));
+            double batchedRate = rowsPerSecond(ROWS, () -> insertWithSequenceBatches(connection, ROWS));
+
+            // Then
+            System.out.printf("IDENTITY, ligne à ligne : %.0f lignes/s%n", identityRate);
+            System.out.printf("SEQUENCE + lots de %d : %.0f lignes/s (x%.1f)%n",
+                    BATCH_SIZE, batchedRate, batchedRate / identityRate);
+            assertTrue(batchedRate > identityRate,
+                    "Les INSERT en lot devraient être plus rapides que les INSERT ligne à ligne");
+        }
+    }
+
+    private static Connection connect(String url) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv().getOrDefault("LOAD_TEST_DB_USER", "postgres"));
+        properties.setProperty("password", System.getenv().getOrDefault("LOAD_TEST_DB_PASSWORD", ""));
+        properties.setProperty("reWriteBatchedInserts", "true");
+        properties.setProperty("prepareThreshold", "3");
+        Connection connection = DriverManager.getConnection(url, properties);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TEMP TABLE load_identity (
+                        id BIGSERIAL PRIMARY KEY, title VARCHAR(255) NOT NULL, tmdb_id INTEGER,
+                        rating REAL, created_at TIMESTAMP NOT NULL)""");
+            statement.execute("CREATE TEMP SEQUENCE load_sequence_seq INCREMENT BY " + BATCH_SIZE);
+            statement.execute("""
+                    CREATE TEMP TABLE load_sequence (
+                        id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, tmdb_id INTEGER,
+                        rating REAL, created_at TIMESTAMP NOT NULL)""");
+        }
+        connection.commit();
+    }
+
+    private static void insertWithIdentity(Connection connection, int rows) throws SQLException {
+        String sql = "INSERT INTO load_identity (title, tmdb_id, rating, created_at) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement insert = connection.prepareStatement(sql, new String[] {"id"})) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i, now);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    private static void insertWithSequenceBatches(Connection connection, int rows) throws SQLException {
+        String sql = "INSERT INTO load_sequence (id, title, tmdb_id, rating, created_at) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('load_sequence_seq')");
+             PreparedStatement insert = connection.prepareStatement(sql)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            long nextId = 0;
+            for (int i = 0; i < rows; i++) {
+                // pooled-lo : la valeur de nextval() est le premier id d'un bloc de BATCH_SIZE
+                if (i % BATCH_SIZE == 0) {
+                    try (ResultSet block = nextval.executeQuery()) {
+                        block.next();
+                        nextId = block.getLong(1);
+                    }
+                }
+                insert.setLong(1, nextId++);
+                bind(insert, 2, i, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    private static void bind(PreparedStatement insert, int firstIndex, int i, Timestamp now) throws SQLException {
+        insert.setString(firstIndex, "Film " + i);
+        insert.setInt(firstIndex + 1, i);
+        insert.setFloat(firstIndex + 2, (i % 11) / 2f);
+        insert.setTimestamp(firstIndex + 3, now);
+    }
+
+    private static double rowsPerSecond(int rows, SqlRunnable run) throws SQLException {
+        long start = System.nanoTime();
+        run.run();
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    @FunctionalInterface
+    private interface SqlRunnable {
+        void run() throws SQLException;
+    }
+}
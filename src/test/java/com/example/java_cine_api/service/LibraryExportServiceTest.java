@@ -0,0 +1,92 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.Serie;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LibraryExportServiceTest {
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private SerieRepository serieRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private LibraryExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new LibraryExportService(movieRepository, serieRepository, entityManager, new ObjectMapper());
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineAndDetachEntities() throws Exception {
+        // Given
+        Movie movie = new Movie("Fight Club");
+        movie.setId(1L);
+        Serie serie = new Serie("The Office");
+        serie.setId(2L);
+        when(movieRepository.streamAll()).thenReturn(Stream.of(movie));
+        when(serieRepository.streamAll()).thenReturn(Stream.of(serie));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = exportService.export(ExportFormat.NDJSON, null, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"type\":\"movie\",\"id\":1,\"title\":\"Fight Club\""));
+        assertTrue(lines[1].startsWith("{\"type\":\"serie\",\"id\":2,\"title\":\"The Office\""));
+        verify(entityManager, times(2)).detach(any());
+    }
+
+    @Test
+    void shouldEscapeCsvValuesAndUseSinceFilter() throws Exception {
+        // Given
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        Movie movie = new Movie("Crouching Tiger, Hidden Dragon");
+        movie.setId(1L);
+        movie.setReview("Un \"wuxia\" superbe");
+        when(movieRepository.streamUpdatedSince(since)).thenReturn(Stream.of(movie));
+        when(serieRepository.streamUpdatedSince(since)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(ExportFormat.CSV, since, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("type,id,title,tmdbId,rating,wishlist,review,viewCount,watched,createdAt,updatedAt", lines[0]);
+        assertEquals("movie,1,\"Crouching Tiger, Hidden Dragon\",,,false,\"Un \"\"wuxia\"\" superbe\",0,false,,", lines[1]);
+        verify(movieRepository, never()).streamAll();
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("xml"));
+        assertEquals(ExportFormat.CSV, ExportFormat.from("CSV"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.dto.response.LibrarySearchResponse;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.repository.LibrarySearchRepository;
+import com.example.java_cine_api.repository.LibrarySearchRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LibrarySearchServiceTest {
+
+    @Mock
+    private LibrarySearchRepository searchRepository;
+
+    @InjectMocks
+    private LibrarySearchService searchService;
+
+    @Test
+    void shouldReturnRankedPageWithNextOffset() {
+        // Given
+        when(searchRepository.search("amelie poulain", 0, 3)).thenReturn(List.of(
+                row(TmdbMediaType.MOVIE, 1L, "Le Fabuleux Destin d'Amélie Poulain", 0.9),
+                row(TmdbMediaType.SERIE, 2L, "Amélie", 0.4),
+                row(TmdbMediaType.MOVIE, 3L, "Poulain", 0.2)));
+
+        // When
+        LibrarySearchResponse result = searchService.search("  amelie   poulain ", 0, 2);
+
+        // Then
+        assertEquals("amelie poulain", result.query());
+        assertEquals(2, result.results().size());
+        assertEquals("movie", result.results().get(0).type());
+        assertEquals("serie", result.results().get(1).type());
+        assertEquals(2, result.nextOffset());
+    }
+
+    @Test
+    void shouldOmitNextOffsetOnLastPage() {
+        // Given
+        when(searchRepository.search("matrix", 20, 21)).thenReturn(List.of(
+                row(TmdbMediaType.MOVIE, 1L, "The Matrix", 0.8)));
+
+        // When
+        LibrarySearchResponse result = searchService.search("matrix", 20, 20);
+
+        // Then
+        assertEquals(1, result.results().size());
+        assertNull(result.nextOffset());
+    }
+
+    @Test
+    void shouldNotQueryDatabaseForBlankQuery() {
+        // When
+        LibrarySearchResponse result = searchService.search("   ", 0, 20);
+
+        // Then
+        assertTrue(result.results().isEmpty());
+        verify(searchRepository, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    private static LibrarySearchRow row(TmdbMediaType type, Long id, String title, double score) {
+        return new LibrarySearchRow(type, id, title, null, null, false, false, null, score);
+    }
+}
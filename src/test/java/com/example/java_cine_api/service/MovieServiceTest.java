@@ -1,17 +1,36 @@
 package com.example.java_cine_api.service;
 
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
 import com.example.java_cine_api.dto.movie.CreateMovieDto;
+import com.example.java_cine_api.dto.movie.CreateMovieFromTmdbDto;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
 import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.exception.ResourceNotFoundException;
+import com.example.java_cine_api.exception.TmdbApiException;
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import com.example.java_cine_api.repository.MediaListFilter;
+import com.example.java_cine_api.repository.MediaViewCountRepository;
 import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.MediaWithMetadata;
+import com.example.java_cine_api.repository.PageCursor;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -21,9 +40,24 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private MediaViewCountRepository viewCountRepository;
+
     @Mock
     private TmdbService tmdbService;
 
+    @Mock
+    private TmdbMetadataService metadataService;
+
+    @Mock
+    private TitleSuggestionIndex suggestionIndex;
+
+    @Mock
+    private LibraryWrites writes;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -64,9 +98,175 @@ class MovieServiceTest {
 
         // Then
         assertNotNull(result);
-        assertTrue(result.containsKey("id"));
-        assertEquals(movieId, result.get("id"));
-        assertEquals("Test Movie", result.get("title"));
+        assertEquals(movieId, result.id());
+        assertEquals("Test Movie", result.title());
+        assertEquals("", result.review());
         verify(movieRepository, times(1)).findById(movieId);
     }
+
+    @Test
+    void shouldListMoviesFromLocalMetadataWithoutCallingTmdb() {
+        // Given
+        Movie withPoster = new Movie("Fight Club");
+        withPoster.setId(1L);
+        withPoster.setTmdbId(550);
+        TmdbMetadata metadata = new TmdbMetadata(TmdbMediaType.MOVIE, 550);
+        metadata.setPosterPath("/fight-club.jpg");
+
+        Movie manual = new Movie("Film maison");
+        manual.setId(2L);
+
+        when(movieRepository.findPageWithMetadata(MediaListFilter.none(), null, 51)).thenReturn(List.of(
+                new MediaWithMetadata<>(withPoster, metadata),
+                new MediaWithMetadata<>(manual, null)));
+
+        // When
+        var result = movieService.findAll(MediaListFilter.none(), null, 50);
+
+        // Then
+        var items = result.items();
+        assertEquals(2, items.size());
+        assertEquals("/fight-club.jpg", items.get(0).tmdb().posterPath());
+        assertNull(items.get(1).tmdb());
+        assertNull(result.nextCursor());
+        verifyNoInteractions(tmdbService);
+    }
+
+    @Test
+    void shouldReturnNextCursorWhenMoreRowsExist() {
+        // Given
+        Movie newest = new Movie("Récent");
+        newest.setId(2L);
+        newest.setCreatedAt(LocalDateTime.of(2024, 5, 2, 10, 0));
+        Movie older = new Movie("Ancien");
+        older.setId(1L);
+        older.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 0));
+
+        when(movieRepository.findPageWithMetadata(MediaListFilter.none(), null, 2)).thenReturn(List.of(
+                new MediaWithMetadata<>(newest, null),
+                new MediaWithMetadata<>(older, null)));
+
+        // When
+        var result = movieService.findAll(MediaListFilter.none(), null, 1);
+
+        // Then
+        assertEquals(1, result.items().size());
+        PageCursor cursor = PageCursor.decode(result.nextCursor());
+        assertEquals(newest.getCreatedAt(), cursor.createdAt());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void shouldCountAllRatedMoviesNotOnlyThePage() {
+        // Given
+        Movie newest = new Movie("Noté récemment");
+        newest.setId(4L);
+        newest.setRating(4f);
+        newest.setCreatedAt(LocalDateTime.of(2024, 5, 4, 10, 0));
+        Movie older = new Movie("Noté");
+        older.setId(3L);
+        older.setRating(3.5f);
+        older.setCreatedAt(LocalDateTime.of(2024, 5, 3, 10, 0));
+
+        when(movieRepository.findPageWithMetadata(MediaListFilter.ratedOnly(), null, 2)).thenReturn(List.of(
+                new MediaWithMetadata<>(newest, null),
+                new MediaWithMetadata<>(older, null)));
+        when(movieRepository.countByRatingIsNotNull()).thenReturn(120L);
+
+        // When
+        var result = movieService.findRated(null, 1);
+
+        // Then
+        assertEquals(1, result.items().size());
+        assertNotNull(result.nextCursor());
+        assertEquals(120L, result.total());
+    }
+
+    @Test
+    void shouldFetchTmdbDetailsBeforeOpeningTransaction() {
+        // Given
+        CreateMovieFromTmdbDto dto = new CreateMovieFromTmdbDto();
+        dto.setTmdbId(550);
+        TmdbMovieDto tmdb = new TmdbMovieDto();
+        tmdb.setId(550);
+        tmdb.setTitle("Fight Club");
+
+        when(tmdbService.getMovieDetails(550, TmdbDetailLevel.SUMMARY)).thenReturn(tmdb);
+        when(movieRepository.findByTmdbId(550)).thenReturn(Optional.empty());
+        when(movieRepository.save(any(Movie.class))).then(returnsFirstArg());
+
+        // When
+        Movie result = movieService.createFromTmdb(dto);
+
+        // Then
+        assertEquals("Fight Club", result.getTitle());
+        InOrder inOrder = inOrder(tmdbService, transactionManager, metadataService, movieRepository);
+        inOrder.verify(tmdbService).getMovieDetails(550, TmdbDetailLevel.SUMMARY);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(metadataService).saveMovie(tmdb);
+        inOrder.verify(movieRepository).save(any(Movie.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldServeStaleDetailsWhenTmdbIsUnavailable() {
+        // Given
+        TmdbMovieDto cached = new TmdbMovieDto();
+        cached.setId(550);
+        when(movieRepository.findByTmdbId(550)).thenReturn(Optional.empty());
+        when(tmdbService.getMovieDetails(550, TmdbDetailLevel.FULL))
+                .thenThrow(new TmdbUnavailableException("TMDB temporairement indisponible"));
+        when(tmdbService.getStaleMovieDetails(550)).thenReturn(cached);
+
+        // When
+        var result = movieService.findByTmdbIdWithTmdbDetails(550);
+
+        // Then
+        assertSame(cached, result.tmdb());
+        assertTrue(result.stale());
+    }
+
+    @Test
+    void shouldPropagateDefinitiveTmdbErrorInsteadOfStaleDetails() {
+        // Given : fiche supprimée de TMDB (404), encore présente dans le cache périmé
+        when(movieRepository.findByTmdbId(550)).thenReturn(Optional.empty());
+        when(tmdbService.getMovieDetails(550, TmdbDetailLevel.FULL))
+                .thenThrow(new TmdbApiException("Erreur lors de la récupération des détails du film TMDB"));
+
+        // When / Then
+        assertThrows(TmdbApiException.class, () -> movieService.findByTmdbIdWithTmdbDetails(550));
+        verify(tmdbService, never()).getStaleMovieDetails(any());
+        verifyNoInteractions(metadataService);
+    }
+
+    @Test
+    void shouldRecordViewWithSingleAtomicUpdate() {
+        // Given
+        Movie updated = new Movie("Fight Club");
+        updated.setId(1L);
+        updated.setViewCount(3);
+        updated.setWatched(true);
+
+        when(viewCountRepository.incrementViewCount(TmdbMediaType.MOVIE, 1L)).thenReturn(Optional.of(updated));
+
+        // When
+        Movie result = movieService.recordView(1L);
+
+        // Then
+        assertEquals(3, result.getViewCount());
+        assertTrue(result.getWatched());
+        verify(movieRepository, never()).findById(any());
+        verify(movieRepository, never()).save(any(Movie.class));
+        verify(writes).record();
+    }
+
+    @Test
+    void shouldRejectViewOfUnknownMovie() {
+        // Given
+        when(viewCountRepository.incrementViewCount(TmdbMediaType.MOVIE, 42L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> movieService.recordView(42L));
+        verifyNoInteractions(writes);
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.exception.TmdbApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbCircuitBreakerTest {
+
+    @Test
+    void shouldOpenWhenFailureRateExceedsThreshold() {
+        // Given
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(50, 4, 4, Duration.ofMinutes(1), 1);
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        breaker.execute(() -> calls.incrementAndGet());
+        breaker.execute(() -> calls.incrementAndGet());
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> breaker.execute(() -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("Read timed out");
+            }));
+        }
+
+        // Then
+        assertEquals(TmdbCircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(TmdbApiException.class, () -> breaker.execute(() -> calls.incrementAndGet()));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void shouldIgnoreClientErrors() {
+        // Given
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(50, 4, 2, Duration.ofMinutes(1), 1);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> breaker.execute(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        // Then
+        assertEquals(TmdbCircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls() {
+        // Given
+        TmdbCircuitBreaker breaker = new TmdbCircuitBreaker(50, 2, 2, Duration.ZERO, 1);
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> breaker.execute(() -> {
+                throw new ResourceAccessException("Connection refused");
+            }));
+        }
+        assertEquals(TmdbCircuitBreaker.State.OPEN, breaker.state());
+
+        // When
+        String result = breaker.execute(() -> "ok");
+
+        // Then
+        assertEquals("ok", result);
+        assertEquals(TmdbCircuitBreaker.State.CLOSED, breaker.state());
+    }
+}
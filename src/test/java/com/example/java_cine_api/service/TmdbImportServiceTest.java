@@ -0,0 +1,114 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.dto.movie.CreateMovieFromTmdbDto;
+import com.example.java_cine_api.dto.response.ImportItemResult;
+import com.example.java_cine_api.dto.response.ImportResponse;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.entity.Movie;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.exception.TmdbApiException;
+import com.example.java_cine_api.repository.MediaImportRepository;
+import com.example.java_cine_api.repository.MediaUpsertRow;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TmdbImportServiceTest {
+
+    @Mock
+    private TmdbService tmdbService;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private SerieRepository serieRepository;
+
+    @Mock
+    private MediaImportRepository importRepository;
+
+    @Mock
+    private TitleSuggestionIndex suggestionIndex;
+
+    @Mock
+    private LibraryWrites writes;
+
+    @InjectMocks
+    private TmdbImportService importService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUpsertFetchedMoviesAndReportEachItem() {
+        // Given
+        Movie existing = new Movie("The Matrix");
+        existing.setTmdbId(603);
+        when(movieRepository.findByTmdbIdIn(anyList())).thenReturn(List.of(existing));
+        when(tmdbService.getMovieDetailsAsync(550, TmdbDetailLevel.SUMMARY)).thenReturn(CompletableFuture.completedFuture(tmdbMovie(550, "Fight Club")));
+        when(tmdbService.getMovieDetailsAsync(603, TmdbDetailLevel.SUMMARY)).thenReturn(CompletableFuture.completedFuture(tmdbMovie(603, "Matrix")));
+        when(tmdbService.getMovieDetailsAsync(999, TmdbDetailLevel.SUMMARY)).thenReturn(CompletableFuture.failedFuture(new TmdbApiException("Film TMDB non trouvé")));
+
+        // When
+        ImportResponse result = importService.importMovies(List.of(item(550), item(603), item(999), item(550)));
+
+        // Then
+        assertEquals(4, result.total());
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        assertEquals(1, result.failed());
+        assertEquals(1, result.ignored());
+        assertEquals(List.of(ImportItemResult.CREATED, ImportItemResult.UPDATED, ImportItemResult.FAILED, ImportItemResult.IGNORED),
+            result.results().stream().map(ImportItemResult::status).toList());
+
+        ArgumentCaptor<List<MediaUpsertRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(importRepository).upsertAll(eq(TmdbMediaType.MOVIE), rows.capture(), anyList());
+        assertEquals(List.of(550, 603), rows.getValue().stream().map(MediaUpsertRow::tmdbId).toList());
+        assertEquals("Fight Club", rows.getValue().get(0).title());
+        // Un seul appel TMDB par ID malgré le doublon
+        verify(tmdbService, times(1)).getMovieDetailsAsync(550, TmdbDetailLevel.SUMMARY);
+    }
+
+    @Test
+    void shouldNotWriteWhenEveryFetchFails() {
+        // Given
+        when(movieRepository.findByTmdbIdIn(anyList())).thenReturn(List.of());
+        when(tmdbService.getMovieDetailsAsync(any(), any())).thenReturn(CompletableFuture.failedFuture(new TmdbApiException("indisponible")));
+
+        // When
+        ImportResponse result = importService.importMovies(List.of(item(550)));
+
+        // Then
+        assertEquals(1, result.failed());
+        verifyNoInteractions(importRepository);
+    }
+
+    private static CreateMovieFromTmdbDto item(Integer tmdbId) {
+        CreateMovieFromTmdbDto dto = new CreateMovieFromTmdbDto();
+        dto.setTmdbId(tmdbId);
+        return dto;
+    }
+
+    private static TmdbMovieDto tmdbMovie(Integer tmdbId, String title) {
+        TmdbMovieDto dto = new TmdbMovieDto();
+        dto.setId(tmdbId);
+        dto.setTitle(title);
+        return dto;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.LibraryWrites;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.entity.TmdbMediaType;
+import com.example.java_cine_api.entity.TmdbMetadata;
+import com.example.java_cine_api.repository.MovieRepository;
+import com.example.java_cine_api.repository.SerieRepository;
+import com.example.java_cine_api.repository.TmdbMetadataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TmdbMetadataServiceTest {
+
+    @Mock
+    private TmdbMetadataRepository metadataRepository;
+
+    @Mock
+    private MovieRepository movieRepository;
+
+    @Mock
+    private SerieRepository serieRepository;
+
+    @Mock
+    private TmdbService tmdbService;
+
+    @Mock
+    private LibraryWrites writes;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TmdbMetadataService metadataService;
+
+    @BeforeEach
+    void setUp() {
+        metadataService = new TmdbMetadataService(metadataRepository, movieRepository, serieRepository, tmdbService,
+                writes, transactionManager, Duration.ofDays(7), 200);
+    }
+
+    @Test
+    void shouldSaveEachRefreshedMovieInItsOwnTransaction() {
+        // Given
+        TmdbMovieDto dto = new TmdbMovieDto();
+        dto.setId(550);
+        dto.setPosterPath("/fight-club.jpg");
+
+        when(movieRepository.findTmdbIdsWithoutMetadata(any())).thenReturn(List.of(550));
+        when(metadataRepository.findStaleTmdbIds(eq(TmdbMediaType.MOVIE), any(), any())).thenReturn(List.of());
+        when(serieRepository.findTmdbIdsWithoutMetadata(any())).thenReturn(List.of());
+        when(metadataRepository.findStaleTmdbIds(eq(TmdbMediaType.SERIE), any(), any())).thenReturn(List.of());
+        when(tmdbService.getMovieDetailsAsync(550, TmdbDetailLevel.SUMMARY))
+                .thenReturn(CompletableFuture.completedFuture(dto));
+
+        // When
+        metadataService.refresh();
+
+        // Then : lecture, écriture et validation dans la même transaction ouverte par le TransactionTemplate
+        InOrder inOrder = inOrder(transactionManager, metadataRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(metadataRepository).findByMediaTypeAndTmdbId(TmdbMediaType.MOVIE, 550);
+        inOrder.verify(metadataRepository).save(any(TmdbMetadata.class));
+        inOrder.verify(transactionManager).commit(any());
+        verify(transactionManager, never()).rollback(any());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.exception.TmdbApiException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbRequestLimiterTest {
+
+    private TmdbRequestLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNeverExceedMaxConcurrency() {
+        // Given
+        limiter = new TmdbRequestLimiter(3, 1000, 1000, Duration.ofSeconds(5));
+        AtomicInteger current = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        // When
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            futures.add(limiter.submit(() -> limiter.execute(() -> {
+                peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+                sleep(10);
+                current.decrementAndGet();
+                return value;
+            })));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertTrue(peak.get() <= 3, "pic de concurrence: " + peak.get());
+        assertEquals(20, futures.stream().map(CompletableFuture::join).distinct().count());
+    }
+
+    @Test
+    void shouldRejectWhenNoSlotFreesUpInTime() throws Exception {
+        // Given
+        limiter = new TmdbRequestLimiter(1, 1000, 1000, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> blocking = limiter.submit(() -> limiter.execute(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // When & Then
+        assertThrows(TmdbApiException.class, () -> limiter.execute(() -> "trop tard"));
+        release.countDown();
+        blocking.join();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
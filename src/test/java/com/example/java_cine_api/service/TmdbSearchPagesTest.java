@@ -0,0 +1,62 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.example.java_cine_api.exception.TmdbApiException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TmdbSearchPagesTest {
+
+    @Test
+    void shouldMergePagesInOrderEvenWhenTheyCompleteOutOfOrder() {
+        // Given
+        CompletableFuture<TmdbSearchResponseDto<Integer>> second = new CompletableFuture<>();
+        CompletableFuture<TmdbSearchResponseDto<Integer>> third = CompletableFuture.completedFuture(page(41, 60));
+        TmdbSearchPages<Integer> pages = new TmdbSearchPages<>(page(1, 20), List.of(second, third));
+        second.complete(page(21, 40));
+
+        // When
+        List<Integer> results = pages.collect(50);
+
+        // Then
+        assertEquals(50, results.size());
+        assertEquals(IntStream.rangeClosed(1, 50).boxed().toList(), results);
+    }
+
+    @Test
+    void shouldStopEarlyAndCancelUnneededPages() {
+        // Given
+        CompletableFuture<TmdbSearchResponseDto<Integer>> second = new CompletableFuture<>();
+        TmdbSearchPages<Integer> pages = new TmdbSearchPages<>(page(1, 20), List.of(second));
+
+        // When
+        List<Integer> results = pages.collect(15);
+
+        // Then
+        assertEquals(15, results.size());
+        assertTrue(second.isCancelled());
+    }
+
+    @Test
+    void shouldKeepPartialResultsWhenLaterPageFails() {
+        // Given
+        TmdbSearchPages<Integer> pages = new TmdbSearchPages<>(page(1, 20),
+                List.of(CompletableFuture.failedFuture(new TmdbApiException("TMDB indisponible"))));
+
+        // When
+        TmdbSearchResponseDto<Integer> merged = pages.merge(40);
+
+        // Then
+        assertEquals(20, merged.getResults().size());
+        assertEquals(3, merged.getTotalPages());
+    }
+
+    private static TmdbSearchResponseDto<Integer> page(int from, int to) {
+        return new TmdbSearchResponseDto<>(from / 20 + 1, IntStream.rangeClosed(from, to).boxed().toList(), 3, 60);
+    }
+}
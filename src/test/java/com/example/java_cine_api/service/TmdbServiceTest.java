@@ -0,0 +1,175 @@
+package com.example.java_cine_api.service;
+
+import com.example.java_cine_api.cache.TitleSuggestionIndex;
+import com.example.java_cine_api.cache.TmdbDetailsCache;
+import com.example.java_cine_api.cache.TmdbSearchCache;
+import com.example.java_cine_api.dto.tmdb.TmdbDetailLevel;
+import com.example.java_cine_api.dto.tmdb.TmdbMovieDto;
+import com.example.java_cine_api.dto.tmdb.TmdbMultiDto;
+import com.example.java_cine_api.dto.tmdb.TmdbSearchResponseDto;
+import com.example.java_cine_api.exception.TmdbApiException;
+import com.example.java_cine_api.exception.TmdbUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class TmdbServiceTest {
+
+    private static final String FULL_URL = "https://tmdb.test/movie/550?language=fr-FR&append_to_response=credits";
+    private static final String SUMMARY_URL = "https://tmdb.test/movie/550?language=fr-FR";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final TmdbRequestLimiter limiter = new TmdbRequestLimiter(2, 1000, 1000, Duration.ofSeconds(1));
+    private final TmdbService tmdbService = new TmdbService(restTemplate,
+            new TmdbDetailsCache(10, Duration.ofMinutes(5), Duration.ofHours(1)),
+            new TmdbSearchCache(10, Duration.ofMinutes(5), Duration.ofMinutes(1)),
+            new TitleSuggestionIndex(0), limiter,
+            new TmdbCircuitBreaker(50, 10, 5, Duration.ofSeconds(30), 1),
+            new SimpleMeterRegistry(), "https://tmdb.test", "fr-FR", 2);
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void shouldRequestCreditsOnlyForFullDetailsAndTruncateCast() {
+        // Given
+        when(restTemplate.getForObject(FULL_URL, TmdbMovieDto.class)).thenReturn(movie(5));
+        when(restTemplate.getForObject(SUMMARY_URL, TmdbMovieDto.class)).thenReturn(movie(0));
+
+        // When
+        TmdbMovieDto summary = tmdbService.getMovieDetails(550, TmdbDetailLevel.SUMMARY);
+        TmdbMovieDto full = tmdbService.getMovieDetails(550, TmdbDetailLevel.FULL);
+
+        // Then
+        assertNull(summary.getCredits());
+        assertEquals(2, full.getCredits().getCast().size());
+        assertEquals("Acteur 0", full.getCredits().getCast().get(0).getName());
+    }
+
+    @Test
+    void shouldServeSummaryFromCachedFullDetails() {
+        // Given
+        when(restTemplate.getForObject(FULL_URL, TmdbMovieDto.class)).thenReturn(movie(1));
+        tmdbService.getMovieDetails(550, TmdbDetailLevel.FULL);
+
+        // When
+        TmdbMovieDto summary = tmdbService.getMovieDetails(550, TmdbDetailLevel.SUMMARY);
+
+        // Then
+        assertEquals(550, summary.getId());
+        verify(restTemplate, never()).getForObject(eq(SUMMARY_URL), eq(TmdbMovieDto.class));
+    }
+
+    @Test
+    void shouldDistinguishDefinitiveErrorsFromUnavailability() {
+        // Given
+        when(restTemplate.getForObject(FULL_URL, TmdbMovieDto.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), new byte[0], null));
+        when(restTemplate.getForObject(SUMMARY_URL, TmdbMovieDto.class))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", new HttpHeaders(), new byte[0], null));
+
+        // When
+        TmdbApiException notFound = assertThrows(TmdbApiException.class,
+                () -> tmdbService.getMovieDetails(550, TmdbDetailLevel.FULL));
+        TmdbApiException badGateway = assertThrows(TmdbApiException.class,
+                () -> tmdbService.getMovieDetails(550, TmdbDetailLevel.SUMMARY));
+
+        // Then
+        assertFalse(notFound instanceof TmdbUnavailableException);
+        assertInstanceOf(TmdbUnavailableException.class, badGateway);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFetchMoreMultiSearchPagesWhenPersonsAreFilteredOut() {
+        // Given : 15 personnes sur la page 1, 10 sur la page 2, 3 pages annoncées par TMDB
+        when(restTemplate.exchange(eq(multiUrl(1)), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(multiPage(1, 15, 5)));
+        when(restTemplate.exchange(eq(multiUrl(2)), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(multiPage(2, 10, 10)));
+        when(restTemplate.exchange(eq(multiUrl(3)), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(multiPage(3, 0, 20)));
+
+        // When
+        TmdbSearchResponseDto<TmdbMultiDto> response = tmdbService.searchMulti("dune", 20);
+
+        // Then
+        assertEquals(20, response.getResults().size());
+        assertTrue(response.getResults().stream().noneMatch(item -> "person".equals(item.getMediaType())));
+        verify(restTemplate).exchange(eq(multiUrl(3)), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStopMultiSearchAtLastTmdbPage() {
+        // Given
+        when(restTemplate.exchange(eq(multiUrl(1)), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(multiPage(1, 18, 2, 1)));
+
+        // When
+        TmdbSearchResponseDto<TmdbMultiDto> response = tmdbService.searchMulti("dune", 20);
+
+        // Then
+        assertEquals(2, response.getResults().size());
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    private static String multiUrl(int page) {
+        return "https://tmdb.test/search/multi?query=dune&language=fr-FR&page=" + page;
+    }
+
+    private static TmdbSearchResponseDto<TmdbMultiDto> multiPage(int page, int persons, int titles) {
+        return multiPage(page, persons, titles, 3);
+    }
+
+    private static TmdbSearchResponseDto<TmdbMultiDto> multiPage(int page, int persons, int titles, int totalPages) {
+        List<TmdbMultiDto> results = new ArrayList<>();
+        for (int i = 0; i < persons + titles; i++) {
+            TmdbMultiDto item = new TmdbMultiDto();
+            item.setId(page * 100 + i);
+            item.setMediaType(i < persons ? "person" : "movie");
+            item.setTitle("Titre " + item.getId());
+            results.add(item);
+        }
+        return new TmdbSearchResponseDto<>(page, results, totalPages, totalPages * 20);
+    }
+
+    private static TmdbMovieDto movie(int castSize) {
+        TmdbMovieDto dto = new TmdbMovieDto();
+        dto.setId(550);
+        dto.setTitle("Fight Club");
+        if (castSize > 0) {
+            List<TmdbMovieDto.CastDto> cast = new ArrayList<>();
+            for (int i = 0; i < castSize; i++) {
+                TmdbMovieDto.CastDto member = new TmdbMovieDto.CastDto();
+                member.setName("Acteur " + i);
+                cast.add(member);
+            }
+            TmdbMovieDto.CreditsDto credits = new TmdbMovieDto.CreditsDto();
+            credits.setCast(cast);
+            dto.setCredits(credits);
+        }
+        return dto;
+    }
+}